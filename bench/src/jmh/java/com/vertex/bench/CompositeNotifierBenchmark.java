@@ -0,0 +1,65 @@
+package com.vertex.bench;
+
+import com.vertex.model.entity.quote.KLine;
+import com.vertex.model.entity.quote.KLineInterval;
+import com.vertex.service.quote.notify.CompositeNotifier;
+import com.vertex.service.quote.notify.QuoteNotifier;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CompositeNotifier 扇出开销（通知渠道本身为空实现）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CompositeNotifierBenchmark {
+
+    @Param({"1", "3"})
+    private int notifierCount;
+
+    private CompositeNotifier notifier;
+    private KLine kline;
+    private List<KLine> batch;
+
+    @Setup(Level.Trial)
+    public void setup(Blackhole blackhole) {
+        List<QuoteNotifier> notifiers = new ArrayList<>(notifierCount);
+        for (int i = 0; i < notifierCount; i++) {
+            notifiers.add(new BlackholeNotifier("bench-" + i, blackhole));
+        }
+        notifier = new CompositeNotifier(notifiers);
+        kline = Fixtures.kline(Fixtures.SYMBOL, KLineInterval.M1, 1_718_236_800_000L, false);
+        batch = Fixtures.klines(Fixtures.SYMBOL, KLineInterval.M1, 1_718_236_800_000L, 100);
+    }
+
+    @Benchmark
+    public void notifyKLine() {
+        notifier.notifyKLine(kline);
+    }
+
+    @Benchmark
+    public void notifyKLineBatch() {
+        notifier.notifyKLineBatch(batch);
+    }
+
+    /**
+     * 只消费数据的通知渠道
+     */
+    private record BlackholeNotifier(String type, Blackhole blackhole) implements QuoteNotifier {
+
+        @Override
+        public void notifyKLine(KLine kline) {
+            blackhole.consume(kline);
+        }
+
+        @Override
+        public void notifyKLineBatch(List<KLine> klines) {
+            blackhole.consume(klines);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.vertex.bench;
+
+import com.vertex.model.entity.quote.KLine;
+import com.vertex.model.entity.quote.KLineInterval;
+import com.vertex.model.entity.quote.ScaledKLine;
+import com.vertex.service.quote.converter.BinanceKLineConverter;
+import com.vertex.service.quote.converter.BinanceKLineParser;
+import com.vertex.service.quote.converter.OkxKLineConverter;
+import com.vertex.service.quote.converter.OkxKLineParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 交易所报文 → KLine 转换
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConverterBenchmark {
+
+    /** 币安现货价格 / 数量精度 */
+    private static final int BINANCE_SCALE = 8;
+
+    /** OKX BTC-USDT 价格精度 */
+    private static final int OKX_PRICE_SCALE = 1;
+
+    /** OKX BTC-USDT 数量 / 成交额精度 */
+    private static final int OKX_VOLUME_SCALE = 8;
+
+    private final BinanceKLineConverter binance = new BinanceKLineConverter();
+    private final OkxKLineConverter okx = new OkxKLineConverter();
+
+    @Benchmark
+    public KLine binanceConvert() {
+        return binance.convert(Fixtures.SYMBOL, KLineInterval.M1, Fixtures.BINANCE_WS_KLINE);
+    }
+
+    /**
+     * WebSocket 入站路径：流式解析一次同时得到 topic 与 K线
+     */
+    @Benchmark
+    public KLine binanceParse() {
+        return BinanceKLineParser.parse(Fixtures.BINANCE_WS_KLINE);
+    }
+
+    /**
+     * 与 binanceParse 对比：价格与数量直接解析为 long 尾数，不创建 BigDecimal
+     */
+    @Benchmark
+    public ScaledKLine binanceParseScaled() {
+        return BinanceKLineParser.parseScaled(Fixtures.BINANCE_WS_KLINE, BINANCE_SCALE, BINANCE_SCALE, BINANCE_SCALE);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<KLine> binanceConvertBatch() {
+        return binance.convertBatch(Fixtures.SYMBOL, KLineInterval.M1, Fixtures.BINANCE_REST_KLINES);
+    }
+
+    @Benchmark
+    public KLine okxConvert() {
+        return okx.convert(Fixtures.SYMBOL, KLineInterval.M1, Fixtures.OKX_WS_CANDLE);
+    }
+
+    /**
+     * WebSocket 入站路径：流式解析一次同时得到 topic 与 data 中的全部 K线
+     */
+    @Benchmark
+    public OkxKLineParser.Frame okxParse() {
+        return OkxKLineParser.parse(Fixtures.OKX_WS_CANDLE);
+    }
+
+    /**
+     * 与 okxParse 对比：价格与数量直接解析为 long 尾数，不创建 BigDecimal
+     */
+    @Benchmark
+    public OkxKLineParser.ScaledFrame okxParseScaled() {
+        return OkxKLineParser.parseScaled(Fixtures.OKX_WS_CANDLE, OKX_PRICE_SCALE, OKX_VOLUME_SCALE, OKX_VOLUME_SCALE);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<KLine> okxConvertBatch() {
+        return okx.convertBatch(Fixtures.SYMBOL, KLineInterval.M1, Fixtures.OKX_REST_CANDLES);
+    }
+}
@@ -0,0 +1,82 @@
+package com.vertex.bench;
+
+import com.vertex.model.entity.quote.KLine;
+import com.vertex.model.entity.quote.KLineInterval;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基准测试数据
+ * <p>
+ * fixtures 目录下为交易所真实格式的报文（BTC-USDT 1m）：
+ * <ul>
+ *   <li>binance-ws-kline.json：币安 WebSocket kline 推送</li>
+ *   <li>binance-rest-klines.json：币安 /api/v3/klines 返回，500 根</li>
+ *   <li>okx-ws-candle.json：OKX WebSocket candle1m 推送</li>
+ *   <li>okx-rest-candles.json：OKX /api/v5/market/candles 返回，300 根</li>
+ * </ul>
+ */
+public final class Fixtures {
+
+    public static final String SYMBOL = "BTC-USDT";
+
+    public static final String BINANCE_WS_KLINE = load("binance-ws-kline.json");
+    public static final String BINANCE_REST_KLINES = load("binance-rest-klines.json");
+    public static final String OKX_WS_CANDLE = load("okx-ws-candle.json");
+    public static final String OKX_REST_CANDLES = load("okx-rest-candles.json");
+
+    private Fixtures() {
+    }
+
+    /**
+     * 读取 classpath 下 fixtures 目录中的报文
+     */
+    public static String load(String name) {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Fixture not found: " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).trim();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 构造一根 K线，价格 / 数量精度与币安现货一致
+     */
+    public static KLine kline(String symbol, KLineInterval interval, long openTime, boolean closed) {
+        return KLine.builder()
+                .symbol(symbol)
+                .exchange("binance")
+                .interval(interval)
+                .openTime(openTime)
+                .closeTime(openTime + interval.getMillis() - 1)
+                .open(new BigDecimal("67012.35000000"))
+                .high(new BigDecimal("67016.12000000"))
+                .low(new BigDecimal("66981.99000000"))
+                .close(new BigDecimal("66998.26000000"))
+                .volume(new BigDecimal("13.33017000"))
+                .quoteVolume(new BigDecimal("893192.10655185"))
+                .trades(910)
+                .closed(closed)
+                .build();
+    }
+
+    /**
+     * 构造同一序列连续 count 根 K线
+     */
+    public static List<KLine> klines(String symbol, KLineInterval interval, long startTime, int count) {
+        List<KLine> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(kline(symbol, interval, startTime + i * interval.getMillis(), true));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,45 @@
+package com.vertex.bench;
+
+import com.vertex.framework.socket.codec.FrameBytes;
+import com.vertex.model.entity.quote.KLine;
+import com.vertex.service.quote.converter.BinanceKLineParser;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebSocket 文本帧入站：先解码为 String 再解析 vs 直接解析帧字节
+ * <p>
+ * 帧内容为直接内存缓冲，与 Netty 收到的帧一致。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FrameBytesBenchmark {
+
+    private ByteBuf content;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        byte[] bytes = Fixtures.BINANCE_WS_KLINE.getBytes(StandardCharsets.UTF_8);
+        content = PooledByteBufAllocator.DEFAULT.directBuffer(bytes.length).writeBytes(bytes).asReadOnly();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        content.release();
+    }
+
+    @Benchmark
+    public KLine decodeThenParse() {
+        return BinanceKLineParser.parse(content.toString(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public KLine parseBytes() {
+        return FrameBytes.parse(content, BinanceKLineParser::parse);
+    }
+}
@@ -0,0 +1,37 @@
+package com.vertex.bench;
+
+import com.vertex.framework.socket.codec.JsonMessageCodec;
+import com.vertex.framework.socket.core.SocketMessage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JsonMessageCodec 编解码，payload 为一条币安 kline 推送
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JsonMessageCodecBenchmark {
+
+    private final JsonMessageCodec codec = new JsonMessageCodec();
+
+    private SocketMessage message;
+    private String encoded;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        message = SocketMessage.data("binance:BTC-USDT:1m", Fixtures.BINANCE_WS_KLINE);
+        encoded = codec.encode(message);
+    }
+
+    @Benchmark
+    public String encode() {
+        return codec.encode(message);
+    }
+
+    @Benchmark
+    public SocketMessage decode() {
+        return codec.decode(encoded);
+    }
+}
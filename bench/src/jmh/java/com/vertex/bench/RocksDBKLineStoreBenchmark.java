@@ -0,0 +1,107 @@
+package com.vertex.bench;
+
+import com.vertex.model.entity.quote.KLine;
+import com.vertex.model.entity.quote.KLineInterval;
+import com.vertex.service.quote.store.RocksDBKLineStore;
+import com.vertex.service.quote.store.RocksDBManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * RocksDBKLineStore 读写，数据目录为临时目录
+ * <p>
+ * 预先写入 seriesCount 个序列、每个 PRELOAD_COUNT 根 1m K线，读基准随机落在这些序列上。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RocksDBKLineStoreBenchmark {
+
+    private static final int PRELOAD_COUNT = 10_000;
+    private static final int BATCH_SIZE = 100;
+    private static final int QUERY_LIMIT = 500;
+    private static final long START_TIME = 1_718_236_800_000L;
+
+    @Param({"16"})
+    private int seriesCount;
+
+    private Path dataDir;
+    private RocksDBManager manager;
+    private RocksDBKLineStore store;
+    private String[] symbols;
+
+    /** 写基准的开盘时间游标，接在预写数据之后 */
+    private long nextOpenTime;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        dataDir = Files.createTempDirectory("vertex-bench-rocksdb");
+        manager = new RocksDBManager(dataDir.toString(), RocksDBKLineStore.SERIES_ID_LENGTH);
+        manager.afterPropertiesSet();
+        store = new RocksDBKLineStore(manager);
+        store.afterPropertiesSet();
+
+        symbols = new String[seriesCount];
+        for (int i = 0; i < seriesCount; i++) {
+            symbols[i] = "SYM" + i + "-USDT";
+            List<KLine> klines = Fixtures.klines(symbols[i], KLineInterval.M1, START_TIME, PRELOAD_COUNT);
+            for (int from = 0; from < klines.size(); from += 1000) {
+                store.saveBatch(klines.subList(from, Math.min(from + 1000, klines.size())));
+            }
+        }
+        nextOpenTime = START_TIME + PRELOAD_COUNT * KLineInterval.M1.getMillis();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        store.destroy();
+        manager.destroy();
+        try (Stream<Path> paths = Files.walk(dataDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void save() {
+        store.save(Fixtures.kline(nextSymbol(), KLineInterval.M1, nextOpenTime(), false));
+    }
+
+    @Benchmark
+    public void saveBatch() {
+        store.saveBatch(Fixtures.klines(nextSymbol(), KLineInterval.M1, nextOpenTime(BATCH_SIZE), BATCH_SIZE));
+    }
+
+    @Benchmark
+    public List<KLine> queryTail() {
+        long startTime = START_TIME + (PRELOAD_COUNT - QUERY_LIMIT) * KLineInterval.M1.getMillis();
+        return store.query("binance", nextSymbol(), KLineInterval.M1, startTime, null, QUERY_LIMIT);
+    }
+
+    @Benchmark
+    public KLine getLatest() {
+        return store.getLatest("binance", nextSymbol(), KLineInterval.M1);
+    }
+
+    private String nextSymbol() {
+        cursor = (cursor + 1) % symbols.length;
+        return symbols[cursor];
+    }
+
+    private long nextOpenTime() {
+        return nextOpenTime(1);
+    }
+
+    private long nextOpenTime(int count) {
+        long openTime = nextOpenTime;
+        nextOpenTime += count * KLineInterval.M1.getMillis();
+        return openTime;
+    }
+}
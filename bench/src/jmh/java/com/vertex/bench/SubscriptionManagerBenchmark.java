@@ -0,0 +1,44 @@
+package com.vertex.bench;
+
+import com.vertex.framework.socket.subscription.SubscriptionManager;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SubscriptionManager.dispatch：topic 查找 + 监听器回调
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SubscriptionManagerBenchmark {
+
+    private static final String TOPIC = "btcusdt@kline_1m";
+
+    /** 同时订阅的 topic 数，模拟 topic 表规模 */
+    @Param({"1", "500"})
+    private int topicCount;
+
+    /** 目标 topic 的监听器数 */
+    @Param({"1", "8"})
+    private int listenerCount;
+
+    private SubscriptionManager manager;
+
+    @Setup(Level.Trial)
+    public void setup(Blackhole blackhole) {
+        manager = new SubscriptionManager();
+        for (int i = 1; i < topicCount; i++) {
+            manager.subscribe("sym" + i + "usdt@kline_1m", (topic, payload) -> blackhole.consume(payload));
+        }
+        for (int i = 0; i < listenerCount; i++) {
+            manager.subscribe(TOPIC, (topic, payload) -> blackhole.consume(payload));
+        }
+    }
+
+    @Benchmark
+    public void dispatch() {
+        manager.dispatch(TOPIC, Fixtures.BINANCE_WS_KLINE);
+    }
+}
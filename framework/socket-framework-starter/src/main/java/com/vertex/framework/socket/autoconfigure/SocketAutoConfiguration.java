@@ -2,6 +2,7 @@ package com.vertex.framework.socket.autoconfigure;
 
 import com.vertex.framework.socket.codec.JsonMessageCodec;
 import com.vertex.framework.socket.codec.MessageCodec;
+import com.vertex.framework.socket.codec.PerMessageDeflateConfig;
 import com.vertex.framework.socket.event.SocketEventPublisher;
 import com.vertex.framework.socket.heartbeat.DefaultHeartbeatStrategy;
 import com.vertex.framework.socket.heartbeat.HeartbeatStrategy;
@@ -12,6 +13,8 @@ import com.vertex.framework.socket.server.WebSocketServer;
 import com.vertex.framework.socket.server.WebSocketServerConfig;
 import com.vertex.framework.socket.server.WebSocketServerHandler;
 import com.vertex.framework.socket.subscription.SubscriptionManager;
+import com.vertex.framework.socket.transport.SocketTransport;
+import io.netty.channel.EventLoopGroup;
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,6 +33,9 @@ import org.springframework.context.annotation.Configuration;
 @EnableConfigurationProperties(SocketProperties.class)
 public class SocketAutoConfiguration {
 
+    /** 共享 EventLoopGroup 的 Bean 名称 */
+    public static final String SOCKET_EVENT_LOOP_GROUP = "socketEventLoopGroup";
+
     // ==================== 通用 Bean ====================
 
     @Bean
@@ -62,6 +68,19 @@ public class SocketAutoConfiguration {
         return new SubscriptionManager();
     }
 
+    /**
+     * 共享的客户端 EventLoopGroup，交易所连接共用，随容器关闭而优雅停止
+     */
+    @Bean(name = SOCKET_EVENT_LOOP_GROUP, destroyMethod = "shutdownGracefully")
+    @ConditionalOnMissingBean(name = SOCKET_EVENT_LOOP_GROUP)
+    public EventLoopGroup socketEventLoopGroup(SocketProperties properties) {
+        SocketProperties.Transport transport = properties.getTransport();
+        EventLoopGroup group = SocketTransport.newEventLoopGroup(
+                transport.getType(), transport.getEventLoopThreads(), "vertex-socket");
+        log.info("Shared socket event loop group created, transport: {}", SocketTransport.resolve(transport.getType()));
+        return group;
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public SocketEventPublisher socketEventPublisher(ApplicationEventPublisher eventPublisher) {
@@ -85,6 +104,7 @@ public class SocketAutoConfiguration {
         @Bean
         @ConditionalOnMissingBean
         public WebSocketServer webSocketServer(SocketProperties properties,
+                                               MessageCodec messageCodec,
                                                @Autowired(required = false) WebSocketServerHandler.ServerMessageListener messageListener) {
             SocketProperties.Server serverProps = properties.getServer();
             WebSocketServerConfig config = WebSocketServerConfig.builder()
@@ -94,6 +114,13 @@ public class SocketAutoConfiguration {
                     .workerThreads(serverProps.getWorkerThreads())
                     .maxFrameSize(serverProps.getMaxFrameSize())
                     .heartbeatIntervalSeconds(serverProps.getHeartbeatIntervalSeconds())
+                    .writeBufferLowWaterMark(serverProps.getWriteBufferLowWaterMark())
+                    .writeBufferHighWaterMark(serverProps.getWriteBufferHighWaterMark())
+                    .slowConsumerPolicy(serverProps.getSlowConsumerPolicy())
+                    .flushConsolidationLimit(serverProps.getFlushConsolidationLimit())
+                    .compression(compressionConfig(serverProps.getCompression()))
+                    .transportType(properties.getTransport().getType())
+                    .messageCodec(messageCodec)
                     .build();
 
             webSocketServer = new WebSocketServer(config, messageListener);
@@ -110,6 +137,18 @@ public class SocketAutoConfiguration {
             return webSocketServer;
         }
 
+        private static PerMessageDeflateConfig compressionConfig(SocketProperties.Compression compression) {
+            if (!compression.isEnabled()) {
+                return null;
+            }
+            return PerMessageDeflateConfig.builder()
+                    .compressionLevel(compression.getLevel())
+                    .serverNoContextTakeover(compression.isServerNoContextTakeover())
+                    .clientNoContextTakeover(compression.isClientNoContextTakeover())
+                    .minMessageSize(compression.getMinMessageSize())
+                    .build();
+        }
+
         @PreDestroy
         public void stopServer() {
             if (webSocketServer != null) {
@@ -1,5 +1,7 @@
 package com.vertex.framework.socket.autoconfigure;
 
+import com.vertex.framework.socket.server.SlowConsumerPolicy;
+import com.vertex.framework.socket.transport.TransportType;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -19,6 +21,9 @@ public class SocketProperties {
     /** 连接池配置 */
     private Pool pool = new Pool();
 
+    /** 传输层配置 */
+    private Transport transport = new Transport();
+
     @Data
     public static class Server {
         /** 是否启用 WebSocket 服务端 */
@@ -41,6 +46,21 @@ public class SocketProperties {
 
         /** 心跳间隔（秒） */
         private int heartbeatIntervalSeconds = 60;
+
+        /** 出站缓冲低水位（字节） */
+        private int writeBufferLowWaterMark = 32 * 1024;
+
+        /** 出站缓冲高水位（字节），超过后按 slowConsumerPolicy 处理推送 */
+        private int writeBufferHighWaterMark = 64 * 1024;
+
+        /** 慢消费者策略：CONFLATE（按 topic 保留最新）/ DROP / DISCONNECT */
+        private SlowConsumerPolicy slowConsumerPolicy = SlowConsumerPolicy.CONFLATE;
+
+        /** 合并 flush 的上限，累计达到该次数时立即 flush；0 表示不合并 */
+        private int flushConsolidationLimit = 256;
+
+        /** permessage-deflate 压缩 */
+        private Compression compression = new Compression();
     }
 
     @Data
@@ -76,6 +96,33 @@ public class SocketProperties {
         private int maxAttempts = -1;
     }
 
+    @Data
+    public static class Compression {
+        /** 是否启用 permessage-deflate，客户端未协商时不压缩 */
+        private boolean enabled = false;
+
+        /** 压缩级别 0-9 */
+        private int level = 6;
+
+        /** 服务端每条消息重置压缩上下文（客户端请求时接受），降低每连接内存 */
+        private boolean serverNoContextTakeover = false;
+
+        /** 请求客户端每条消息重置压缩上下文 */
+        private boolean clientNoContextTakeover = false;
+
+        /** 最小压缩消息大小（字节），更小的消息不压缩 */
+        private int minMessageSize = 256;
+    }
+
+    @Data
+    public static class Transport {
+        /** 传输层类型：auto（Linux 上优先 epoll）/ nio / epoll / io_uring（需引入 incubator 依赖） */
+        private TransportType type = TransportType.AUTO;
+
+        /** 共享客户端 EventLoopGroup 的线程数，0 表示 CPU 核数 */
+        private int eventLoopThreads = 0;
+    }
+
     @Data
     public static class Pool {
         /** 最大连接数 */
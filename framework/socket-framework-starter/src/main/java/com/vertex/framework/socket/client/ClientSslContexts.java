@@ -0,0 +1,87 @@
+package com.vertex.framework.socket.client;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.handler.ssl.OpenSsl;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.ssl.SslProvider;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.TrustManagerFactory;
+
+/**
+ * 客户端 SslContext 构建
+ * <p>
+ * SslContext 内部持有 TLS 会话缓存，同一个实例创建的 SslHandler 在重连时可以复用上次的会话
+ * （TLS 1.2 session id / TLS 1.3 session ticket），跳过完整握手。因此 SslContext 应按交易所构建一次
+ * 并在所有连接与重连之间共享，而不是每次 connect 重新构建。
+ * <p>
+ * 引入 netty-tcnative 后优先使用 OpenSSL，否则使用 JDK 实现。
+ * <p>
+ * SslContext 只校验证书链，主机名校验在创建 SslHandler 时开启，连接必须通过 {@link #newHandler} 创建 SslHandler。
+ */
+@Slf4j
+public final class ClientSslContexts {
+
+    private ClientSslContexts() {
+    }
+
+    /**
+     * 使用 JDK 默认信任库构建
+     */
+    public static SslContext forClient() throws SSLException {
+        return forClient(null, null);
+    }
+
+    /**
+     * 构建客户端 SslContext
+     *
+     * @param trustManagerFactory 证书信任管理，为 null 时使用 JDK 默认信任库（cacerts）
+     * @param provider            SSL 实现，为 null 时 OpenSSL 可用则使用 OpenSSL，否则使用 JDK
+     */
+    public static SslContext forClient(TrustManagerFactory trustManagerFactory, SslProvider provider) throws SSLException {
+        SslProvider resolved = provider != null ? provider : defaultProvider();
+        SslContext sslContext = SslContextBuilder.forClient()
+                .sslProvider(resolved)
+                .trustManager(trustManagerFactory)
+                .build();
+        log.info("Client SslContext created, provider: {}", resolved);
+        return sslContext;
+    }
+
+    /**
+     * 按客户端配置构建：优先使用配置中预构建的 SslContext
+     */
+    public static SslContext forConfig(WebSocketClientConfig config) throws SSLException {
+        if (config.getSslContext() != null) {
+            return config.getSslContext();
+        }
+        return forClient(config.getTrustManagerFactory(), config.getSslProvider());
+    }
+
+    /**
+     * 创建校验主机名的 SslHandler
+     * <p>
+     * 传入 host/port 以便按对端查找可复用的会话，并在 SSLEngine 上开启 HTTPS 主机名校验（RFC 2818），
+     * 证书中的主机名与 host 不符时握手失败。
+     */
+    public static SslHandler newHandler(SslContext sslContext, ByteBufAllocator alloc, String host, int port) {
+        SslHandler handler = sslContext.newHandler(alloc, host, port);
+        SSLEngine engine = handler.engine();
+        SSLParameters parameters = engine.getSSLParameters();
+        parameters.setEndpointIdentificationAlgorithm("HTTPS");
+        engine.setSSLParameters(parameters);
+        return handler;
+    }
+
+    /**
+     * 默认 SSL 实现：OpenSSL（netty-tcnative）可用时使用 OpenSSL
+     */
+    public static SslProvider defaultProvider() {
+        return OpenSsl.isAvailable() ? SslProvider.OPENSSL : SslProvider.JDK;
+    }
+}
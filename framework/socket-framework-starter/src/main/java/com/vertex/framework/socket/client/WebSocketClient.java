@@ -6,44 +6,68 @@ import com.vertex.framework.socket.core.SocketConnectionState;
 import com.vertex.framework.socket.core.SocketSession;
 import com.vertex.framework.socket.heartbeat.DefaultHeartbeatStrategy;
 import com.vertex.framework.socket.heartbeat.HeartbeatHandler;
+import com.vertex.framework.socket.heartbeat.HeartbeatStats;
 import com.vertex.framework.socket.heartbeat.HeartbeatStrategy;
 import com.vertex.framework.socket.reconnect.ExponentialBackoffPolicy;
 import com.vertex.framework.socket.reconnect.ReconnectHandler;
 import com.vertex.framework.socket.reconnect.ReconnectPolicy;
+import com.vertex.framework.socket.transport.SocketTransport;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.*;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.http.DefaultHttpHeaders;
 import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.websocketx.WebSocketClientHandshakerFactory;
 import io.netty.handler.codec.http.websocketx.WebSocketVersion;
+import io.netty.handler.flush.FlushConsolidationHandler;
 import io.netty.handler.ssl.SslContext;
-import io.netty.handler.ssl.SslContextBuilder;
-import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
 import io.netty.handler.timeout.IdleStateHandler;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.net.URI;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * WebSocket 客户端
  * <p>
  * 核心类，管理连接生命周期（connect/disconnect/reconnect）
+ * <p>
+ * 默认每次连接按 transportType 创建独立的 EventLoopGroup；配置 eventLoopGroup 后多个客户端共享同一线程组，
+ * 重连不再反复创建和销毁线程池。
+ * <p>
+ * wss 连接的 SslContext 只在首次连接时构建，重连沿用同一实例，从而复用 TLS 会话缓存跳过完整握手。
+ * <p>
+ * 握手最多等待 connectTimeoutMs。自动重连在客户端自己的重连线程上执行，不占用（共享的）EventLoop，
+ * 重连失败时按 ReconnectPolicy 在该线程上退避重试，直到成功、策略放弃或被主动断开。
  */
 @Slf4j
 public class WebSocketClient {
 
+    /** 重连线程空闲多久后退出（秒） */
+    private static final long RECONNECT_THREAD_KEEP_ALIVE_SECONDS = 60;
+
     private final WebSocketClientConfig config;
     private final WebSocketClientHandler.WebSocketMessageListener messageListener;
 
     private EventLoopGroup group;
-    private Channel channel;
+    /** group 是否为本客户端创建，断开时需要关闭 */
+    private boolean ownsGroup;
+    private volatile Channel channel;
+
+    /** 已被主动断开，不再自动重连 */
+    private volatile boolean stopped = true;
+
+    /** 重连线程，每个客户端独占一个，串行执行重连，空闲时退出 */
+    private final ThreadPoolExecutor reconnectExecutor;
+
+    /** 首次 wss 连接时构建，重连复用 */
+    private SslContext sslContext;
 
     @Getter
     private volatile SocketConnectionState state = SocketConnectionState.DISCONNECTED;
@@ -51,9 +75,21 @@ public class WebSocketClient {
     @Getter
     private SocketSession session;
 
+    /** 心跳往返时延统计，跨重连保留 */
+    @Getter
+    private final HeartbeatStats heartbeatStats = new HeartbeatStats();
+
     public WebSocketClient(WebSocketClientConfig config, WebSocketClientHandler.WebSocketMessageListener messageListener) {
         this.config = config;
         this.messageListener = messageListener;
+        String threadName = "ws-reconnect-" + config.getUri().getHost();
+        this.reconnectExecutor = new ThreadPoolExecutor(1, 1,
+                RECONNECT_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.reconnectExecutor.allowCoreThreadTimeOut(true);
     }
 
     /**
@@ -64,8 +100,16 @@ public class WebSocketClient {
             log.warn("Already connected or connecting, skip");
             return;
         }
+        stopped = false;
+        open();
+    }
 
+    /**
+     * 建立连接并等待握手，失败时释放本次创建的资源并抛出异常
+     */
+    private void open() throws Exception {
         state = SocketConnectionState.CONNECTING;
+        long startNanos = System.nanoTime();
         URI uri = config.getUri();
         String scheme = uri.getScheme() == null ? "ws" : uri.getScheme();
         String host = uri.getHost();
@@ -75,14 +119,10 @@ public class WebSocketClient {
         }
 
         boolean ssl = "wss".equalsIgnoreCase(scheme);
-        final SslContext sslCtx;
-        if (ssl) {
-            sslCtx = SslContextBuilder.forClient()
-                    .trustManager(InsecureTrustManagerFactory.INSTANCE)
-                    .build();
-        } else {
-            sslCtx = null;
+        if (ssl && sslContext == null) {
+            sslContext = ClientSslContexts.forConfig(config);
         }
+        final SslContext sslCtx = ssl ? sslContext : null;
 
         // 构建 HTTP Headers
         HttpHeaders httpHeaders = new DefaultHttpHeaders();
@@ -94,7 +134,7 @@ public class WebSocketClient {
         var handshaker = WebSocketClientHandshakerFactory.newHandshaker(
                 uri, WebSocketVersion.V13, null, true, httpHeaders, config.getMaxFrameSize());
 
-        WebSocketClientHandler clientHandler = new WebSocketClientHandler(handshaker, messageListener);
+        WebSocketClientHandler clientHandler = new WebSocketClientHandler(handshaker, messageListener, heartbeatStats);
 
         // 获取策略（使用默认值 fallback）
         HeartbeatStrategy heartbeatStrategy = config.getHeartbeatStrategy() != null
@@ -106,41 +146,50 @@ public class WebSocketClient {
         boolean autoReconnect = config.isAutoReconnect();
         int finalPort = port;
 
-        group = new NioEventLoopGroup(config.getWorkerThreads());
+        ownsGroup = config.getEventLoopGroup() == null;
+        group = ownsGroup
+                ? SocketTransport.newEventLoopGroup(config.getTransportType(), config.getWorkerThreads(), "ws-client")
+                : config.getEventLoopGroup();
         Bootstrap bootstrap = new Bootstrap();
         bootstrap.group(group)
-                .channel(NioSocketChannel.class)
+                .channel(SocketTransport.socketChannelClass(group))
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, config.getConnectTimeoutMs())
                 .handler(new ChannelInitializer<SocketChannel>() {
                     @Override
                     protected void initChannel(SocketChannel ch) {
                         ChannelPipeline pipeline = ch.pipeline();
 
-                        // SSL
+                        // SSL，传入 host/port 以便按对端查找可复用的会话，并校验证书主机名
                         if (sslCtx != null) {
-                            pipeline.addLast(sslCtx.newHandler(ch.alloc(), host, finalPort));
+                            pipeline.addLast(ClientSslContexts.newHandler(sslCtx, ch.alloc(), host, finalPort));
+                        }
+
+                        // 合并 flush（位于 SSL 之后，合并后的数据一次加密写出）
+                        if (config.getFlushConsolidationLimit() > 0) {
+                            pipeline.addLast(new FlushConsolidationHandler(config.getFlushConsolidationLimit(), true));
                         }
 
                         // HTTP 编解码
                         pipeline.addLast(new HttpClientCodec());
                         pipeline.addLast(new HttpObjectAggregator(config.getMaxFrameSize()));
 
+                        // permessage-deflate 压缩，握手时与服务端协商
+                        if (config.getCompression() != null) {
+                            pipeline.addLast(config.getCompression().newClientHandler());
+                        }
+
                         // 心跳检测
                         if (heartbeatInterval > 0) {
                             pipeline.addLast(new IdleStateHandler(
                                     heartbeatInterval * 2, heartbeatInterval, 0, TimeUnit.SECONDS));
-                            pipeline.addLast(new HeartbeatHandler(heartbeatStrategy, config.getMaxMissedHeartbeats()));
+                            pipeline.addLast(new HeartbeatHandler(heartbeatStrategy, config.getMaxMissedHeartbeats(), heartbeatStats));
                         }
 
                         // 自动重连
                         if (autoReconnect) {
-                            pipeline.addLast(new ReconnectHandler(reconnectPolicy, () -> {
-                                try {
-                                    reconnect();
-                                } catch (Exception e) {
-                                    log.error("Reconnect failed", e);
-                                }
-                            }));
+                            // 重连会同步等待握手，交给本客户端的重连线程执行，避免阻塞（共享的）EventLoop
+                            pipeline.addLast(new ReconnectHandler(reconnectPolicy, () ->
+                                    reconnectExecutor.execute(() -> reconnectWithRetry(ch, reconnectPolicy))));
                         }
 
                         // WebSocket 客户端 Handler
@@ -148,38 +197,59 @@ public class WebSocketClient {
                     }
                 });
 
-        ChannelFuture future = bootstrap.connect(host, finalPort).sync();
-        channel = future.channel();
+        try {
+            ChannelFuture future = bootstrap.connect(host, finalPort).sync();
+            channel = future.channel();
 
-        // 等待握手完成
-        clientHandler.handshakeFuture().sync();
+            // 等待握手完成，超时视为连接失败
+            ChannelFuture handshakeFuture = clientHandler.handshakeFuture();
+            if (!handshakeFuture.await(config.getConnectTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                throw new TimeoutException("WebSocket handshake with " + uri + " timed out after "
+                        + config.getConnectTimeoutMs() + " ms");
+            }
+            handshakeFuture.sync();
+        } catch (Exception e) {
+            release();
+            throw e;
+        }
         state = SocketConnectionState.CONNECTED;
         session = SocketSession.getFromChannel(channel);
-        log.info("WebSocket client connected to: {}", uri);
+        log.info("WebSocket client connected to: {} in {} ms", uri,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
     }
 
     /**
      * 断开连接
      */
     public synchronized void disconnect() {
+        // 重连失败的退避期间状态为 DISCONNECTED，也需要标记停止
+        stopped = true;
         if (state == SocketConnectionState.DISCONNECTED) {
             return;
         }
         state = SocketConnectionState.DISCONNECTING;
+        release();
+        log.info("WebSocket client disconnected");
+    }
+
+    /**
+     * 关闭当前连接并释放自建的 EventLoopGroup
+     */
+    private void release() {
         try {
-            if (channel != null && channel.isActive()) {
+            if (channel != null && channel.isOpen()) {
                 channel.close().sync();
             }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             log.error("Interrupted while closing channel", e);
         } finally {
-            if (group != null) {
+            if (group != null && ownsGroup) {
                 group.shutdownGracefully();
             }
+            channel = null;
             state = SocketConnectionState.DISCONNECTED;
             session = null;
-            log.info("WebSocket client disconnected");
         }
     }
 
@@ -187,10 +257,55 @@ public class WebSocketClient {
      * 重连
      */
     public void reconnect() throws Exception {
-        state = SocketConnectionState.RECONNECTING;
-        log.info("Reconnecting to: {}", config.getUri());
-        disconnect();
-        connect();
+        synchronized (this) {
+            if (stopped) {
+                // 等待重连期间已被主动断开
+                log.info("Client was disconnected, skip reconnect to: {}", config.getUri());
+                return;
+            }
+            state = SocketConnectionState.RECONNECTING;
+            log.info("Reconnecting to: {}", config.getUri());
+            release();
+            open();
+        }
+        if (messageListener != null) {
+            messageListener.onReconnected(session);
+        }
+    }
+
+    /**
+     * 在重连线程上执行重连，失败后按策略退避重试
+     *
+     * @param inactive 触发重连的连接，已不是当前连接时（例如握手超时被关闭的连接）忽略本次触发
+     */
+    private void reconnectWithRetry(Channel inactive, ReconnectPolicy policy) {
+        if (inactive != channel) {
+            return;
+        }
+        // ReconnectHandler 已按第 1 次尝试完成了等待
+        for (int attempt = 1; ; attempt++) {
+            try {
+                reconnect();
+                return;
+            } catch (Exception e) {
+                if (stopped) {
+                    return;
+                }
+                int next = attempt + 1;
+                long delay = policy.shouldRetry(next) ? policy.nextDelay(next) : -1;
+                if (delay < 0) {
+                    log.error("Reconnect to {} failed, giving up after {} attempts", config.getUri(), attempt, e);
+                    return;
+                }
+                log.warn("Reconnect attempt {} to {} failed, retrying in {}ms", attempt, config.getUri(), delay, e);
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
     }
 
     /**
@@ -1,11 +1,17 @@
 package com.vertex.framework.socket.client;
 
 import com.vertex.framework.socket.codec.MessageCodec;
+import com.vertex.framework.socket.codec.PerMessageDeflateConfig;
 import com.vertex.framework.socket.heartbeat.HeartbeatStrategy;
 import com.vertex.framework.socket.reconnect.ReconnectPolicy;
+import com.vertex.framework.socket.transport.TransportType;
+import io.netty.channel.EventLoopGroup;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslProvider;
 import lombok.Builder;
 import lombok.Data;
 
+import javax.net.ssl.TrustManagerFactory;
 import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
@@ -28,6 +34,15 @@ public class WebSocketClientConfig {
     @Builder.Default
     private boolean ssl = false;
 
+    /** 预构建的 SslContext，多个客户端共享时可复用同一 TLS 会话缓存；为 null 时首次连接按下列配置构建 */
+    private SslContext sslContext;
+
+    /** 证书信任管理，为 null 时使用 JDK 默认信任库 */
+    private TrustManagerFactory trustManagerFactory;
+
+    /** SSL 实现，为 null 时优先 OpenSSL（需引入 netty-tcnative），否则使用 JDK */
+    private SslProvider sslProvider;
+
     /** 心跳间隔（秒），0 表示不启用心跳 */
     @Builder.Default
     private int heartbeatIntervalSeconds = 30;
@@ -53,10 +68,27 @@ public class WebSocketClientConfig {
     @Builder.Default
     private int maxFrameSize = 65536;
 
-    /** 工作线程数 */
+    /** permessage-deflate 压缩配置，为 null 时不启用 */
+    private PerMessageDeflateConfig compression;
+
+    /**
+     * 合并 flush 的上限：一次 EventLoop 任务批次内的多次 flush 合并为一次系统调用（如批量订阅），
+     * 累计达到该次数时立即 flush；0 表示不合并
+     */
+    @Builder.Default
+    private int flushConsolidationLimit = 256;
+
+    /** 工作线程数，仅在未指定 eventLoopGroup 时使用 */
     @Builder.Default
     private int workerThreads = 2;
 
+    /** 共享的 EventLoopGroup，为 null 时每次连接创建独立线程组；共享线程组不随断开连接关闭 */
+    private EventLoopGroup eventLoopGroup;
+
+    /** 自建线程组的传输层类型，Channel 类型按线程组自动匹配 */
+    @Builder.Default
+    private TransportType transportType = TransportType.AUTO;
+
     /** 是否启用自动重连 */
     @Builder.Default
     private boolean autoReconnect = true;
@@ -2,11 +2,15 @@ package com.vertex.framework.socket.client;
 
 import com.vertex.framework.socket.core.SocketMessage;
 import com.vertex.framework.socket.core.SocketSession;
+import com.vertex.framework.socket.heartbeat.HeartbeatStats;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.*;
 import io.netty.handler.codec.http.FullHttpResponse;
 import io.netty.handler.codec.http.websocketx.*;
 import lombok.extern.slf4j.Slf4j;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * WebSocket 客户端 Handler
  * <p>
@@ -18,10 +22,17 @@ public class WebSocketClientHandler extends SimpleChannelInboundHandler<Object>
     private final WebSocketClientHandshaker handshaker;
     private ChannelPromise handshakeFuture;
     private final WebSocketMessageListener messageListener;
+    private final HeartbeatStats heartbeatStats;
 
-    public WebSocketClientHandler(WebSocketClientHandshaker handshaker, WebSocketMessageListener messageListener) {
+    public WebSocketClientHandler(WebSocketClientHandshaker handshaker, WebSocketMessageListener messageListener,
+                                  HeartbeatStats heartbeatStats) {
         this.handshaker = handshaker;
         this.messageListener = messageListener;
+        this.heartbeatStats = heartbeatStats;
+    }
+
+    public WebSocketClientHandler(WebSocketClientHandshaker handshaker, WebSocketMessageListener messageListener) {
+        this(handshaker, messageListener, null);
     }
 
     public ChannelFuture handshakeFuture() {
@@ -62,13 +73,19 @@ public class WebSocketClientHandler extends SimpleChannelInboundHandler<Object>
 
         // 处理 WebSocket Frame
         if (msg instanceof TextWebSocketFrame textFrame) {
-            String text = textFrame.text();
-            log.debug("Received text message: {}", text);
+            ByteBuf content = textFrame.content();
+            if (log.isDebugEnabled()) {
+                log.debug("Received text message: {}", content.toString(StandardCharsets.UTF_8));
+            }
             if (messageListener != null) {
-                messageListener.onMessage(SocketSession.getFromChannel(ch), text);
+                // 传递只读的保留引用，由监听器负责释放
+                messageListener.onMessage(SocketSession.getFromChannel(ch), content.retainedDuplicate().asReadOnly());
             }
         } else if (msg instanceof PongWebSocketFrame) {
             log.debug("Received pong from: {}", ch.remoteAddress());
+            if (heartbeatStats != null) {
+                heartbeatStats.onHeartbeatResponse();
+            }
         } else if (msg instanceof CloseWebSocketFrame closeFrame) {
             log.info("Received close frame, status: {}, reason: {}",
                     closeFrame.statusCode(), closeFrame.reasonText());
@@ -106,8 +123,28 @@ public class WebSocketClientHandler extends SimpleChannelInboundHandler<Object>
     public interface WebSocketMessageListener {
         void onMessage(SocketSession session, String message);
 
+        /**
+         * 收到文本帧（UTF-8 字节形式）
+         * <p>
+         * content 为帧内容的只读保留引用，监听器获得所有权，处理完毕后必须 release()；
+         * 可移交给其他线程处理，不受 Handler 释放帧的影响。
+         * 默认解码为 String 后调用 {@link #onMessage(SocketSession, String)}。
+         */
+        default void onMessage(SocketSession session, ByteBuf content) {
+            try {
+                onMessage(session, content.toString(StandardCharsets.UTF_8));
+            } finally {
+                content.release();
+            }
+        }
+
         default void onDisconnected(SocketSession session) {}
 
+        /**
+         * 自动重连成功，新连接已完成握手；在重连线程上调用
+         */
+        default void onReconnected(SocketSession session) {}
+
         default void onError(SocketSession session, Throwable cause) {}
     }
 }
@@ -0,0 +1,102 @@
+package com.vertex.framework.socket.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.concurrent.FastThreadLocal;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 文本帧字节访问工具
+ * <p>
+ * 让基于 byte[] 的解析器（如 fastjson2 JSONReader）直接处理帧内容的 UTF-8 字节，不构造 String。
+ * 堆内存缓冲直接使用底层数组；直接内存或只读缓冲复制到线程本地的复用数组，
+ * 每个 EventLoop 线程只持有一个按需扩容的数组，不产生每帧分配。
+ */
+public final class FrameBytes {
+
+    /** 复用数组初始大小 */
+    private static final int INITIAL_CAPACITY = 4096;
+
+    private static final FastThreadLocal<byte[]> SCRATCH = new FastThreadLocal<>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[INITIAL_CAPACITY];
+        }
+    };
+
+    private FrameBytes() {
+    }
+
+    /**
+     * 基于字节区间的解析器
+     */
+    @FunctionalInterface
+    public interface BytesParser<T> {
+
+        /**
+         * 解析 bytes[offset, offset + length)，返回后不得再引用 bytes
+         */
+        T parse(byte[] bytes, int offset, int length);
+    }
+
+    /**
+     * 以 UTF-8 字节解析缓冲中的可读内容，不改变 readerIndex
+     */
+    public static <T> T parse(ByteBuf content, BytesParser<T> parser) {
+        int length = content.readableBytes();
+        if (content.hasArray()) {
+            return parser.parse(content.array(), content.arrayOffset() + content.readerIndex(), length);
+        }
+        byte[] scratch = SCRATCH.get();
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length << 1)];
+            SCRATCH.set(scratch);
+        }
+        content.getBytes(content.readerIndex(), scratch, 0, length);
+        return parser.parse(scratch, 0, length);
+    }
+
+    /**
+     * 判断可读内容是否与 ASCII 文本相同（忽略大小写可选），用于心跳等短报文，不解码为 String
+     */
+    public static boolean equalsAscii(ByteBuf content, String text, boolean ignoreCase) {
+        int length = text.length();
+        if (content.readableBytes() != length) {
+            return false;
+        }
+        int base = content.readerIndex();
+        for (int i = 0; i < length; i++) {
+            char expected = text.charAt(i);
+            char actual = (char) (content.getByte(base + i) & 0xFF);
+            if (actual != expected
+                    && !(ignoreCase && Character.toLowerCase(actual) == Character.toLowerCase(expected))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 判断可读内容是否以 ASCII 文本开头，不解码为 String
+     */
+    public static boolean startsWithAscii(ByteBuf content, String prefix) {
+        int length = prefix.length();
+        if (content.readableBytes() < length) {
+            return false;
+        }
+        int base = content.readerIndex();
+        for (int i = 0; i < length; i++) {
+            if (content.getByte(base + i) != (byte) prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 解码为 String，仅用于日志与兼容路径
+     */
+    public static String toString(ByteBuf content) {
+        return content.toString(StandardCharsets.UTF_8);
+    }
+}
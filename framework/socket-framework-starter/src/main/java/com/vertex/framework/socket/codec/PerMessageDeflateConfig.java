@@ -0,0 +1,83 @@
+package com.vertex.framework.socket.codec;
+
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketClientExtensionHandler;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtensionFilter;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtensionFilterProvider;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketServerExtensionHandler;
+import io.netty.handler.codec.http.websocketx.extensions.compression.PerMessageDeflateClientExtensionHandshaker;
+import io.netty.handler.codec.http.websocketx.extensions.compression.PerMessageDeflateServerExtensionHandshaker;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * permessage-deflate（RFC 7692）压缩配置
+ * <p>
+ * 握手时与对端协商，对端不支持时回落为不压缩。服务端与客户端共用同一组选项：
+ * <ul>
+ *   <li>serverNoContextTakeover：服务端每条消息重置压缩上下文。客户端会向服务端请求该选项，
+ *       服务端则接受客户端的该请求。开启后压缩率略降，但连接之间不必各自保留压缩窗口，可降低服务端内存</li>
+ *   <li>clientNoContextTakeover：客户端每条消息重置压缩上下文。服务端会向客户端请求该选项，
+ *       客户端则接受服务端的该请求</li>
+ * </ul>
+ * 小于 minMessageSize 的消息不压缩，压缩收益抵不上 CPU 开销；接收方向始终解压。
+ */
+@Data
+@Builder
+public class PerMessageDeflateConfig {
+
+    /** 压缩级别 0-9 */
+    @Builder.Default
+    private int compressionLevel = 6;
+
+    /** 服务端每条消息重置压缩上下文 */
+    @Builder.Default
+    private boolean serverNoContextTakeover = false;
+
+    /** 客户端每条消息重置压缩上下文 */
+    @Builder.Default
+    private boolean clientNoContextTakeover = false;
+
+    /** 最小压缩消息大小（字节），更小的消息原样发送 */
+    @Builder.Default
+    private int minMessageSize = 256;
+
+    /** 默认窗口大小（2^15），与 zlib 默认一致 */
+    private static final int WINDOW_BITS = 15;
+
+    /**
+     * 创建服务端扩展 Handler，需位于 HttpObjectAggregator 之后、WebSocketServerProtocolHandler 之前
+     */
+    public WebSocketServerExtensionHandler newServerHandler() {
+        return new WebSocketServerExtensionHandler(new PerMessageDeflateServerExtensionHandshaker(
+                compressionLevel, false, WINDOW_BITS,
+                serverNoContextTakeover, clientNoContextTakeover, filterProvider()));
+    }
+
+    /**
+     * 创建客户端扩展 Handler，需位于 HttpObjectAggregator 之后、WebSocket 客户端 Handler 之前
+     */
+    public WebSocketClientExtensionHandler newClientHandler() {
+        return new WebSocketClientExtensionHandler(new PerMessageDeflateClientExtensionHandshaker(
+                compressionLevel, false, WINDOW_BITS,
+                clientNoContextTakeover, serverNoContextTakeover, filterProvider()));
+    }
+
+    private WebSocketExtensionFilterProvider filterProvider() {
+        int threshold = minMessageSize;
+        WebSocketExtensionFilter encoderFilter = threshold > 0
+                ? (WebSocketFrame frame) -> frame.content().readableBytes() < threshold
+                : WebSocketExtensionFilter.NEVER_SKIP;
+        return new WebSocketExtensionFilterProvider() {
+            @Override
+            public WebSocketExtensionFilter encoderFilter() {
+                return encoderFilter;
+            }
+
+            @Override
+            public WebSocketExtensionFilter decoderFilter() {
+                return WebSocketExtensionFilter.NEVER_SKIP;
+            }
+        };
+    }
+}
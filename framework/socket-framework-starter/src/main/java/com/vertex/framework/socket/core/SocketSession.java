@@ -1,14 +1,19 @@
 package com.vertex.framework.socket.core;
 
+import com.vertex.framework.socket.server.SlowConsumerHandler;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
-import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.EventLoop;
 import io.netty.util.AttributeKey;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * WebSocket 会话封装
@@ -37,13 +42,29 @@ public class SocketSession {
 
     /**
      * 发送文本消息
+     * <p>
+     * 经由 {@link SlowConsumerHandler} 写出：连接不可写时与无 topic 的广播一样按慢消费者策略处理，
+     * 被丢弃或断开时返回失败的 future。未安装该 Handler 的连接（如客户端）直接写出。
      */
     public ChannelFuture send(String text) {
         if (!isActive()) {
             log.warn("Session {} is not active, cannot send message", id);
             return channel.newFailedFuture(new IllegalStateException("Session is not active"));
         }
-        return channel.writeAndFlush(new TextWebSocketFrame(text));
+        ByteBuf content = ByteBufUtil.writeUtf8(channel.alloc(), text);
+        ChannelPromise promise = channel.newPromise();
+        EventLoop eventLoop = channel.eventLoop();
+        if (eventLoop.inEventLoop()) {
+            SlowConsumerHandler.write(channel, null, content, promise);
+        } else {
+            try {
+                eventLoop.execute(() -> SlowConsumerHandler.write(channel, null, content, promise));
+            } catch (RejectedExecutionException e) {
+                content.release();
+                promise.setFailure(e);
+            }
+        }
+        return promise;
     }
 
     /**
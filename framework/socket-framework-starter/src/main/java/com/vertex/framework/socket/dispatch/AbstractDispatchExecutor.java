@@ -0,0 +1,229 @@
+package com.vertex.framework.socket.dispatch;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 排队型执行器的公共部分：按 topic 的串行队列、容量控制、任务计时与指标
+ * <p>
+ * 每个 topic 一条串行队列，同一时刻至多被调度一次（{@link #schedule}），因此同一 topic 按提交顺序执行。
+ * 排队任务数达到 queueCapacity 后：
+ * <ul>
+ *   <li>可合并任务：若该 topic 队尾也是可合并任务则取而代之，否则追加（每个 topic 至多多出一条）</li>
+ *   <li>不可合并任务：照常追加并计入 overflow，不丢弃</li>
+ * </ul>
+ * 队列排空后立即从索引中移除，不会为已不再推送的 topic 长期保留队列。
+ */
+@Slf4j
+abstract class AbstractDispatchExecutor implements DispatchExecutor {
+
+    /** 每发生多少次关闭后拒绝 / 超容量保留打印一次告警 */
+    private static final long WARN_LOG_INTERVAL = 10000;
+
+    protected final String name;
+
+    private final int queueCapacity;
+
+    /** topic → 串行队列，仅在有待执行任务时存在 */
+    private final Map<String, TopicQueue> queues = new ConcurrentHashMap<>();
+
+    protected volatile boolean running = true;
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final LongAdder submitted = new LongAdder();
+    private final AtomicLong rejected = new AtomicLong();
+    private final LongAdder conflated = new LongAdder();
+    private final AtomicLong overflow = new AtomicLong();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder totalLagNanos = new LongAdder();
+    private final LongAccumulator maxLagNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param name          线程名前缀
+     * @param queueCapacity 开始合并的排队任务总数
+     */
+    protected AbstractDispatchExecutor(String name, int queueCapacity) {
+        this.name = name;
+        this.queueCapacity = queueCapacity;
+    }
+
+    @Override
+    public void execute(String topic, Runnable task) {
+        execute(topic, task, false);
+    }
+
+    @Override
+    public void execute(String topic, Runnable task, boolean conflatable) {
+        submitted.increment();
+        TimedTask timed = new TimedTask(topic, task, System.nanoTime(), conflatable);
+        if (!running) {
+            rejected(timed);
+            return;
+        }
+        // 在 compute 内入队，与排空后的移除互斥，保证同一 topic 只有一条队列
+        queues.compute(topic, (key, queue) -> {
+            if (queue == null) {
+                queue = new TopicQueue(key);
+            }
+            queue.offer(timed);
+            return queue;
+        });
+    }
+
+    /**
+     * 调度一条由空变为非空的 topic 队列，实现方随后通过 {@link TopicQueue#poll()} 消费
+     */
+    protected abstract void schedule(TopicQueue queue);
+
+    /**
+     * 队列已排空（{@link TopicQueue#poll()} 返回 null）后由消费方调用，从索引中移除空闲队列
+     */
+    protected void release(TopicQueue queue) {
+        queues.computeIfPresent(queue.topic, (key, current) -> current == queue && queue.isIdle() ? null : current);
+    }
+
+    /**
+     * 关闭后提交的任务
+     */
+    private void rejected(TimedTask task) {
+        long count = rejected.incrementAndGet();
+        if (count == 1 || count % WARN_LOG_INTERVAL == 0) {
+            log.warn("[{}] Dispatch executor stopped, task rejected, topic: {}, total rejected: {}",
+                    name, task.topic, count);
+        }
+    }
+
+    /**
+     * 执行任务并记录等待时间，异常不会中断消费线程
+     */
+    protected void run(TimedTask task) {
+        queueDepth.decrementAndGet();
+        long lag = System.nanoTime() - task.enqueuedAt;
+        totalLagNanos.add(lag);
+        maxLagNanos.accumulate(lag);
+        executed.increment();
+        try {
+            task.task.run();
+        } catch (Throwable e) {
+            log.error("[{}] Dispatch task failed, topic: {}", name, task.topic, e);
+        }
+    }
+
+    /** 当前存在待执行任务的 topic 数 */
+    public int getActiveTopicCount() {
+        return queues.size();
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    @Override
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    @Override
+    public long getConflatedCount() {
+        return conflated.sum();
+    }
+
+    @Override
+    public long getOverflowCount() {
+        return overflow.get();
+    }
+
+    @Override
+    public long getAverageLagNanos() {
+        long count = executed.sum();
+        return count == 0 ? 0 : totalLagNanos.sum() / count;
+    }
+
+    @Override
+    public long getMaxLagNanos() {
+        return maxLagNanos.get();
+    }
+
+    /**
+     * 带入队时间的任务
+     */
+    protected record TimedTask(String topic, Runnable task, long enqueuedAt, boolean conflatable) {
+    }
+
+    /**
+     * 单个 topic 的串行队列
+     */
+    protected final class TopicQueue {
+
+        private final String topic;
+        private final Deque<TimedTask> tasks = new ArrayDeque<>();
+        /** 已交给实现方调度、尚未排空 */
+        private boolean scheduled;
+
+        TopicQueue(String topic) {
+            this.topic = topic;
+        }
+
+        String topic() {
+            return topic;
+        }
+
+        /**
+         * 入队，超过容量时按可合并性合并；由空变为非空时调度
+         */
+        synchronized void offer(TimedTask task) {
+            if (queueDepth.get() >= queueCapacity) {
+                TimedTask last = tasks.peekLast();
+                if (task.conflatable && last != null && last.conflatable) {
+                    // 取代尚未执行的上一条可合并任务，排队数不变
+                    tasks.pollLast();
+                    tasks.addLast(task);
+                    conflated.increment();
+                    return;
+                }
+                if (!task.conflatable) {
+                    long count = overflow.incrementAndGet();
+                    if (count == 1 || count % WARN_LOG_INTERVAL == 0) {
+                        log.warn("[{}] Dispatch queue above capacity {}, keeping task, topic: {}, total overflow: {}",
+                                name, queueCapacity, topic, count);
+                    }
+                }
+            }
+            tasks.addLast(task);
+            queueDepth.incrementAndGet();
+            if (!scheduled) {
+                scheduled = true;
+                schedule(this);
+            }
+        }
+
+        /**
+         * 取出下一个任务；已排空时返回 null 并结束本次调度，调用方随后应调用 {@link #release}
+         */
+        synchronized TimedTask poll() {
+            TimedTask task = tasks.pollFirst();
+            if (task == null) {
+                scheduled = false;
+            }
+            return task;
+        }
+
+        synchronized boolean isIdle() {
+            return !scheduled && tasks.isEmpty();
+        }
+    }
+}
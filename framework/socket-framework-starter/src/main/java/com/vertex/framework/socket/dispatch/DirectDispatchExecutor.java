@@ -0,0 +1,22 @@
+package com.vertex.framework.socket.dispatch;
+
+/**
+ * 在调用线程上直接执行（EventLoop 线程），无排队
+ */
+public final class DirectDispatchExecutor implements DispatchExecutor {
+
+    public static final DirectDispatchExecutor INSTANCE = new DirectDispatchExecutor();
+
+    private DirectDispatchExecutor() {
+    }
+
+    @Override
+    public void execute(String topic, Runnable task) {
+        task.run();
+    }
+
+    @Override
+    public void shutdown() {
+        // no-op
+    }
+}
@@ -0,0 +1,85 @@
+package com.vertex.framework.socket.dispatch;
+
+/**
+ * 订阅消息分发执行器
+ * <p>
+ * 交易所客户端在 EventLoop 上完成帧解析后，把监听器回调（转换、存储、通知）交给执行器，
+ * 下游变慢不会阻塞 Socket 读取与心跳。实现须保证同一 topic 的任务按提交顺序执行。
+ * <p>
+ * 排队超过容量时只合并可合并的任务（如未收盘 K线的中间更新），不可合并的任务（如收盘 K线）始终保留。
+ */
+public interface DispatchExecutor {
+
+    /**
+     * 提交 topic 的处理任务
+     */
+    void execute(String topic, Runnable task);
+
+    /**
+     * 提交 topic 的处理任务
+     *
+     * @param conflatable 可合并：排队超过容量时可被同一 topic 随后提交的可合并任务取代；
+     *                    不可合并的任务不会因队列满而被丢弃
+     */
+    default void execute(String topic, Runnable task, boolean conflatable) {
+        execute(topic, task);
+    }
+
+    /**
+     * 停止执行器，已提交的任务尽量执行完
+     */
+    void shutdown();
+
+    // ==================== 指标 ====================
+
+    /** 已提交未执行的任务数 */
+    default int getQueueDepth() {
+        return 0;
+    }
+
+    /** 累计提交的任务数 */
+    default long getSubmittedCount() {
+        return 0;
+    }
+
+    /** 关闭后提交而被拒绝的任务数 */
+    default long getRejectedCount() {
+        return 0;
+    }
+
+    /** 排队超过容量时被同一 topic 更新的任务取代的可合并任务数 */
+    default long getConflatedCount() {
+        return 0;
+    }
+
+    /** 排队超过容量时仍被保留的不可合并任务数 */
+    default long getOverflowCount() {
+        return 0;
+    }
+
+    /** 任务从提交到开始执行的平均等待（纳秒） */
+    default long getAverageLagNanos() {
+        return 0;
+    }
+
+    /** 任务从提交到开始执行的最大等待（纳秒） */
+    default long getMaxLagNanos() {
+        return 0;
+    }
+
+    /**
+     * 按模式创建执行器
+     *
+     * @param name          线程名前缀
+     * @param mode          分发模式
+     * @param lanes         LANES 模式的通道数
+     * @param queueCapacity 开始合并的排队任务数（LANES 为每条通道，VIRTUAL 为全部 topic 合计）
+     */
+    static DispatchExecutor create(String name, DispatchMode mode, int lanes, int queueCapacity) {
+        return switch (mode) {
+            case DIRECT -> DirectDispatchExecutor.INSTANCE;
+            case LANES -> new LaneDispatchExecutor(name, lanes, queueCapacity);
+            case VIRTUAL -> new VirtualThreadDispatchExecutor(name, queueCapacity);
+        };
+    }
+}
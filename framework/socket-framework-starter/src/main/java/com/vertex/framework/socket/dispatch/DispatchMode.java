@@ -0,0 +1,16 @@
+package com.vertex.framework.socket.dispatch;
+
+/**
+ * 订阅消息分发模式
+ */
+public enum DispatchMode {
+
+    /** 在 EventLoop 线程上直接回调监听器 */
+    DIRECT,
+
+    /** 按 topic 哈希到固定数量的单线程通道，同一 topic 有序 */
+    LANES,
+
+    /** 每个 topic 一条串行队列，由虚拟线程按需消费，同一 topic 有序 */
+    VIRTUAL
+}
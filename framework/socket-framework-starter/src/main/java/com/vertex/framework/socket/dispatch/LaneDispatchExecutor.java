@@ -0,0 +1,120 @@
+package com.vertex.framework.socket.dispatch;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 固定通道执行器
+ * <p>
+ * topic 按哈希映射到 lanes 条通道之一，每条通道一个消费线程，轮流执行映射到该通道的 topic 队列，
+ * 同一 topic 始终落在同一通道，因此按提交顺序执行。
+ * 排队任务总数超过 lanes × queueCapacity 时合并可合并任务，不可合并任务仍然保留（见 {@link AbstractDispatchExecutor}），
+ * 绝不阻塞提交方（EventLoop 线程）。
+ */
+@Slf4j
+public class LaneDispatchExecutor extends AbstractDispatchExecutor {
+
+    /** 关闭时等待队列排空的最长时间（毫秒） */
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    /** 消费线程空闲轮询间隔（毫秒），决定关闭的响应时间 */
+    private static final long POLL_TIMEOUT_MILLIS = 200;
+
+    private final Lane[] lanes;
+
+    /**
+     * @param name          线程名前缀
+     * @param lanes         通道数
+     * @param queueCapacity 每条通道的排队容量
+     */
+    public LaneDispatchExecutor(String name, int lanes, int queueCapacity) {
+        super(name, lanes * queueCapacity);
+        this.lanes = new Lane[lanes];
+        for (int i = 0; i < lanes; i++) {
+            this.lanes[i] = new Lane(name + "-dispatch-" + i);
+        }
+        log.info("[{}] Dispatch lanes started, lanes: {}, queue capacity per lane: {}", name, lanes, queueCapacity);
+    }
+
+    @Override
+    protected void schedule(TopicQueue queue) {
+        lane(queue.topic()).ready.offer(queue);
+    }
+
+    @Override
+    public void shutdown() {
+        // 不中断消费线程，避免打断正在执行的写入/发送；消费线程在下一次轮询超时后退出
+        running = false;
+        for (Lane lane : lanes) {
+            try {
+                lane.thread.join(SHUTDOWN_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        log.info("[{}] Dispatch lanes stopped", name);
+    }
+
+    private Lane lane(String topic) {
+        int h = topic.hashCode();
+        // 扰动低位，避免相近 topic 聚集到同一通道
+        h ^= h >>> 16;
+        return lanes[(h & Integer.MAX_VALUE) % lanes.length];
+    }
+
+    /**
+     * 单线程通道
+     */
+    private final class Lane implements Runnable {
+
+        /** 待执行的 topic 队列，每个 topic 至多出现一次 */
+        private final BlockingQueue<TopicQueue> ready = new LinkedBlockingQueue<>();
+        private final Thread thread;
+
+        Lane(String threadName) {
+            this.thread = new Thread(this, threadName);
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                try {
+                    TopicQueue queue = ready.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                    if (queue != null) {
+                        runNext(queue);
+                    }
+                } catch (InterruptedException e) {
+                    break;
+                }
+            }
+            // 关闭时执行完已入队的任务
+            TopicQueue queue;
+            while ((queue = ready.poll()) != null) {
+                TimedTask task;
+                while ((task = queue.poll()) != null) {
+                    LaneDispatchExecutor.this.run(task);
+                }
+                release(queue);
+            }
+        }
+
+        /**
+         * 执行 topic 的一个任务后把队列放回队尾，同一通道上的 topic 轮流执行
+         */
+        private void runNext(TopicQueue queue) {
+            TimedTask task = queue.poll();
+            if (task == null) {
+                release(queue);
+                return;
+            }
+            LaneDispatchExecutor.this.run(task);
+            ready.offer(queue);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.vertex.framework.socket.dispatch;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 虚拟线程执行器
+ * <p>
+ * 每个 topic 一条串行队列：队列由空变为非空时启动一个虚拟线程消费，排空后线程结束并移除该队列，
+ * 同一时刻每个 topic 至多一个消费者，因此同一 topic 按提交顺序执行，不同 topic 互不阻塞。
+ * 排队任务总数超过 queueCapacity 时合并可合并任务，不可合并任务仍然保留（见 {@link AbstractDispatchExecutor}）。
+ */
+@Slf4j
+public class VirtualThreadDispatchExecutor extends AbstractDispatchExecutor {
+
+    private final ThreadFactory threadFactory;
+
+    /**
+     * @param name          线程名前缀
+     * @param queueCapacity 全部 topic 合计的排队容量
+     */
+    public VirtualThreadDispatchExecutor(String name, int queueCapacity) {
+        super(name, queueCapacity);
+        this.threadFactory = Thread.ofVirtual().name(name + "-dispatch-vt-", 0).factory();
+        log.info("[{}] Virtual thread dispatch started, queue capacity: {}", name, queueCapacity);
+    }
+
+    @Override
+    protected void schedule(TopicQueue queue) {
+        threadFactory.newThread(() -> {
+            TimedTask task;
+            while ((task = queue.poll()) != null) {
+                run(task);
+            }
+            release(queue);
+        }).start();
+    }
+
+    @Override
+    public void shutdown() {
+        // 已启动的虚拟线程执行完各自队列后结束
+        running = false;
+        log.info("[{}] Virtual thread dispatch stopped", name);
+    }
+}
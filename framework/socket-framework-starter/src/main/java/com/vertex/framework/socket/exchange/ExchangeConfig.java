@@ -1,5 +1,7 @@
 package com.vertex.framework.socket.exchange;
 
+import com.vertex.framework.socket.codec.PerMessageDeflateConfig;
+import com.vertex.framework.socket.dispatch.DispatchMode;
 import lombok.Builder;
 import lombok.Data;
 
@@ -38,6 +40,41 @@ public class ExchangeConfig {
     @Builder.Default
     private boolean autoReconnect = true;
 
+    /** 单条订阅/取消订阅消息最多携带的 topic 数，大于 1 时启用批量订阅 */
+    @Builder.Default
+    private int maxTopicsPerMessage = 1;
+
+    /** 每秒最多发送的订阅/取消订阅消息数，0 表示不限；大于 0 时启用批量订阅 */
+    @Builder.Default
+    private int maxMessagesPerSecond = 0;
+
+    /** 单个连接最多订阅的 topic 数，0 表示不限；用于 {@link ShardedExchangeClient} 分片 */
+    @Builder.Default
+    private int maxTopicsPerConnection = 0;
+
+    /** {@link ShardedExchangeClient} 启动时建立的连接数，topic 按消息速率分布到各连接 */
+    @Builder.Default
+    private int connectionCount = 1;
+
+    /** 订阅消息分发模式，默认在 EventLoop 线程上直接回调 */
+    @Builder.Default
+    private DispatchMode dispatchMode = DispatchMode.DIRECT;
+
+    /** LANES 模式的通道数 */
+    @Builder.Default
+    private int dispatchLanes = 4;
+
+    /** 分发队列容量（LANES 为每条通道，VIRTUAL 为合计），超过后合并未收盘更新，收盘数据仍然保留 */
+    @Builder.Default
+    private int dispatchQueueCapacity = 65536;
+
+    /** 合并 flush 的上限，批量订阅与重连恢复订阅时多条请求合并为一次写出；0 表示不合并 */
+    @Builder.Default
+    private int flushConsolidationLimit = 256;
+
+    /** permessage-deflate 压缩配置，为 null 时不启用；交易所不支持时握手回落为不压缩 */
+    private PerMessageDeflateConfig compression;
+
     /** 额外参数 */
     private Map<String, String> extras;
 }
@@ -1,18 +1,38 @@
 package com.vertex.framework.socket.exchange;
 
+import com.vertex.framework.socket.client.ClientSslContexts;
 import com.vertex.framework.socket.client.WebSocketClient;
 import com.vertex.framework.socket.client.WebSocketClientConfig;
 import com.vertex.framework.socket.client.WebSocketClientHandler;
+import com.vertex.framework.socket.codec.FrameBytes;
 import com.vertex.framework.socket.core.SocketSession;
+import com.vertex.framework.socket.dispatch.DispatchExecutor;
+import com.vertex.framework.socket.heartbeat.HeartbeatStats;
 import com.vertex.framework.socket.heartbeat.HeartbeatStrategy;
 import com.vertex.framework.socket.reconnect.ExponentialBackoffPolicy;
 import com.vertex.framework.socket.subscription.SubscriptionListener;
 import com.vertex.framework.socket.subscription.SubscriptionManager;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.EventLoopGroup;
+import io.netty.handler.ssl.SslContext;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 
 /**
  * 交易所 WebSocket 客户端抽象类
@@ -21,11 +41,24 @@ import java.util.Map;
  * - buildSubscribeMessage: 构建订阅请求消息
  * - buildUnsubscribeMessage: 构建取消订阅请求消息
  * - parseMessage: 解析交易所返回的消息，提取 topic 和 payload
+ *   （可覆写 {@link #parseMessage(ByteBuf)} 直接解析 UTF-8 字节，跳过 String 解码）
  * - createHeartbeatStrategy: 创建交易所特定的心跳策略
+ * <p>
+ * 配置 maxTopicsPerMessage / maxMessagesPerSecond 后订阅请求进入待发送队列，按速率限制发送：
+ * 子类覆写了 {@link #buildSubscribeMessage(List)} / {@link #buildUnsubscribeMessage(List)} 时合并为批量消息，
+ * 否则每个 topic 一条消息（仍受速率限制）。
+ * <p>
+ * 自动重连成功后，SubscriptionManager 中的全部活跃订阅会在新连接上重新提交，随后回调 {@link #onReconnected()}。
+ * <p>
+ * 帧解析在 EventLoop 线程上完成，监听器回调交给 {@link DispatchExecutor}（见 {@link #createDispatchExecutor}），
+ * 同一 topic 保持顺序，下游处理变慢不会阻塞 Socket 读取与心跳。
  */
 @Slf4j
 public abstract class ExchangeWebSocketClient {
 
+    /** 未限速时批量订阅的发送周期（毫秒） */
+    private static final long UNLIMITED_FLUSH_INTERVAL_MILLIS = 50;
+
     @Getter
     private final ExchangeConfig exchangeConfig;
 
@@ -34,28 +67,82 @@ public abstract class ExchangeWebSocketClient {
 
     private WebSocketClient webSocketClient;
 
+    /** 心跳策略，每次 connect 创建一次，消息处理与心跳发送共用 */
+    private volatile HeartbeatStrategy heartbeatStrategy;
+
+    @Getter
+    private volatile DispatchExecutor dispatchExecutor;
+
+    /** 待发送的订阅请求：topic → true 订阅 / false 取消订阅，按请求先后排列 */
+    private final Map<String, Boolean> pendingRequests = new LinkedHashMap<>();
+
+    private ScheduledExecutorService requestScheduler;
+
+    /** 每个已订阅 topic 收到的消息数，用于分片按速率放置 topic */
+    private final Map<String, LongAdder> topicMessageCounts = new ConcurrentHashMap<>();
+
+    /** 共享的 EventLoopGroup，为 null 时由 WebSocketClient 自建 */
+    private volatile EventLoopGroup eventLoopGroup;
+
+    /** wss 连接使用的 SslContext，未设置时首次连接构建，之后的 connect 与重连复用 */
+    private volatile SslContext sslContext;
+
+    /** 重连完成后的外部回调（如分片客户端的再均衡） */
+    private volatile Consumer<ExchangeWebSocketClient> reconnectListener;
+
+    /** 子类覆写了已废弃的 {@link #onMessage(String)}，收到消息时需解码为 String 回调 */
+    private final boolean legacyMessageHook;
+
+    /** 子类实现了批量订阅 / 取消订阅消息，未实现时每条消息只含一个 topic */
+    private final boolean batchedSubscribe;
+    private final boolean batchedUnsubscribe;
+
     protected ExchangeWebSocketClient(ExchangeConfig exchangeConfig) {
         this.exchangeConfig = exchangeConfig;
         this.subscriptionManager = new SubscriptionManager();
+        this.legacyMessageHook = overrides(getClass(), "onMessage", String.class);
+        this.batchedSubscribe = overrides(getClass(), "buildSubscribeMessage", List.class);
+        this.batchedUnsubscribe = overrides(getClass(), "buildUnsubscribeMessage", List.class);
     }
 
     /**
      * 连接交易所
      */
     public void connect() throws Exception {
+        if (dispatchExecutor == null) {
+            dispatchExecutor = createDispatchExecutor();
+        }
+        heartbeatStrategy = createHeartbeatStrategy();
+        boolean ssl = exchangeConfig.getWsUrl().startsWith("wss");
+        if (ssl && sslContext == null) {
+            sslContext = ClientSslContexts.forClient();
+        }
         WebSocketClientConfig clientConfig = WebSocketClientConfig.builder()
                 .uri(new URI(exchangeConfig.getWsUrl()))
-                .ssl(exchangeConfig.getWsUrl().startsWith("wss"))
+                .ssl(ssl)
+                .sslContext(sslContext)
                 .heartbeatIntervalSeconds(exchangeConfig.getHeartbeatIntervalSeconds())
-                .heartbeatStrategy(createHeartbeatStrategy())
+                .heartbeatStrategy(heartbeatStrategy)
                 .reconnectPolicy(new ExponentialBackoffPolicy())
                 .autoReconnect(exchangeConfig.isAutoReconnect())
+                .eventLoopGroup(eventLoopGroup)
+                .flushConsolidationLimit(exchangeConfig.getFlushConsolidationLimit())
+                .compression(exchangeConfig.getCompression())
                 .build();
 
         webSocketClient = new WebSocketClient(clientConfig, new WebSocketClientHandler.WebSocketMessageListener() {
             @Override
             public void onMessage(SocketSession session, String message) {
-                handleMessage(message);
+                handleMessage(Unpooled.wrappedBuffer(message.getBytes(StandardCharsets.UTF_8)));
+            }
+
+            @Override
+            public void onMessage(SocketSession session, ByteBuf content) {
+                try {
+                    handleMessage(content);
+                } finally {
+                    content.release();
+                }
             }
 
             @Override
@@ -63,6 +150,16 @@ public abstract class ExchangeWebSocketClient {
                 onConnectionLost();
             }
 
+            @Override
+            public void onReconnected(SocketSession session) {
+                resubscribeAll();
+                ExchangeWebSocketClient.this.onReconnected();
+                Consumer<ExchangeWebSocketClient> listener = reconnectListener;
+                if (listener != null) {
+                    listener.accept(ExchangeWebSocketClient.this);
+                }
+            }
+
             @Override
             public void onError(SocketSession session, Throwable cause) {
                 ExchangeWebSocketClient.this.onError(cause);
@@ -70,6 +167,7 @@ public abstract class ExchangeWebSocketClient {
         });
 
         webSocketClient.connect();
+        startRequestScheduler();
         onConnected();
     }
 
@@ -78,9 +176,60 @@ public abstract class ExchangeWebSocketClient {
      */
     public void disconnect() {
         subscriptionManager.clear();
+        topicMessageCounts.clear();
+        stopRequestScheduler();
         if (webSocketClient != null) {
             webSocketClient.disconnect();
         }
+        if (dispatchExecutor != null) {
+            dispatchExecutor.shutdown();
+            dispatchExecutor = null;
+        }
+    }
+
+    /**
+     * 底层连接是否可用
+     */
+    public boolean isConnected() {
+        WebSocketClient client = webSocketClient;
+        return client != null && client.isConnected();
+    }
+
+    /**
+     * 使用共享的 EventLoopGroup，需在 connect 之前设置；共享线程组的生命周期由调用方管理
+     */
+    public void setEventLoopGroup(EventLoopGroup eventLoopGroup) {
+        this.eventLoopGroup = eventLoopGroup;
+    }
+
+    /**
+     * 使用共享的 SslContext，需在 connect 之前设置；同一交易所的连接共享 TLS 会话缓存
+     */
+    public void setSslContext(SslContext sslContext) {
+        this.sslContext = sslContext;
+    }
+
+    /**
+     * 设置重连完成后的回调，在订阅恢复与 {@link #onReconnected()} 之后调用
+     */
+    public void setReconnectListener(Consumer<ExchangeWebSocketClient> reconnectListener) {
+        this.reconnectListener = reconnectListener;
+    }
+
+    /**
+     * topic 累计收到的消息数，未订阅时返回 0
+     */
+    public long getTopicMessageCount(String topic) {
+        LongAdder count = topicMessageCounts.get(topic);
+        return count != null ? count.sum() : 0L;
+    }
+
+    /**
+     * 心跳往返时延统计，未连接过时返回 null
+     */
+    public HeartbeatStats getHeartbeatStats() {
+        WebSocketClient client = webSocketClient;
+        return client != null ? client.getHeartbeatStats() : null;
     }
 
     /**
@@ -95,8 +244,12 @@ public abstract class ExchangeWebSocketClient {
      */
     public void subscribe(String topic, Map<String, String> params, SubscriptionListener listener) {
         subscriptionManager.subscribe(topic, params, listener);
-        String message = buildSubscribeMessage(topic, params);
-        sendMessage(message);
+        topicMessageCounts.computeIfAbsent(topic, k -> new LongAdder());
+        if (isBatching()) {
+            enqueueRequest(topic, true);
+        } else {
+            sendMessage(buildSubscribeMessage(topic, params));
+        }
         log.info("[{}] Subscribed to: {}", exchangeConfig.getExchangeType().getCode(), topic);
     }
 
@@ -105,11 +258,130 @@ public abstract class ExchangeWebSocketClient {
      */
     public void unsubscribe(String topic) {
         subscriptionManager.unsubscribeAll(topic);
-        String message = buildUnsubscribeMessage(topic);
-        sendMessage(message);
+        topicMessageCounts.remove(topic);
+        if (isBatching()) {
+            enqueueRequest(topic, false);
+        } else {
+            sendMessage(buildUnsubscribeMessage(topic));
+        }
         log.info("[{}] Unsubscribed from: {}", exchangeConfig.getExchangeType().getCode(), topic);
     }
 
+    // ==================== 批量订阅 ====================
+
+    private boolean isBatching() {
+        return exchangeConfig.getMaxTopicsPerMessage() > 1 || exchangeConfig.getMaxMessagesPerSecond() > 0;
+    }
+
+    /**
+     * 订阅请求入队；同一 topic 尚未发送的相反请求互相抵消
+     */
+    private void enqueueRequest(String topic, boolean subscribe) {
+        synchronized (pendingRequests) {
+            Boolean pending = pendingRequests.get(topic);
+            if (pending != null && pending != subscribe) {
+                pendingRequests.remove(topic);
+            } else {
+                pendingRequests.put(topic, subscribe);
+            }
+        }
+    }
+
+    /**
+     * 重连后在新连接上恢复全部活跃订阅：启用批量订阅时整体重新入队，按批量与速率限制发送
+     */
+    private void resubscribeAll() {
+        Set<String> topics = subscriptionManager.getSubscribedTopics();
+        if (isBatching()) {
+            synchronized (pendingRequests) {
+                // 新连接上没有任何订阅，尚未发送的取消订阅请求不再需要
+                pendingRequests.clear();
+                for (String topic : topics) {
+                    pendingRequests.put(topic, true);
+                }
+            }
+        } else {
+            for (String topic : topics) {
+                sendMessage(buildSubscribeMessage(topic, subscriptionManager.getParams(topic)));
+            }
+        }
+        log.info("[{}] Restoring {} subscriptions after reconnect",
+                exchangeConfig.getExchangeType().getCode(), topics.size());
+    }
+
+    /**
+     * 待发送的订阅请求数
+     */
+    public int getPendingRequestCount() {
+        synchronized (pendingRequests) {
+            return pendingRequests.size();
+        }
+    }
+
+    private void startRequestScheduler() {
+        if (!isBatching() || requestScheduler != null) {
+            return;
+        }
+        int rate = exchangeConfig.getMaxMessagesPerSecond();
+        // 有速率限制时每个周期发送一条消息，否则每个周期发完全部请求
+        long periodMillis = rate > 0 ? Math.max(1000L / rate, 1L) : UNLIMITED_FLUSH_INTERVAL_MILLIS;
+        String code = exchangeConfig.getExchangeType().getCode();
+        requestScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, code + "-subscribe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        requestScheduler.scheduleAtFixedRate(() -> flushRequests(rate > 0 ? 1 : Integer.MAX_VALUE),
+                periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void stopRequestScheduler() {
+        if (requestScheduler != null) {
+            requestScheduler.shutdownNow();
+            requestScheduler = null;
+        }
+        synchronized (pendingRequests) {
+            pendingRequests.clear();
+        }
+    }
+
+    /**
+     * 发送至多 maxMessages 条批量消息，每条只包含同一类请求，连接不可用时保留到下个周期
+     */
+    private void flushRequests(int maxMessages) {
+        try {
+            for (int i = 0; i < maxMessages && isConnected(); i++) {
+                List<String> topics = new ArrayList<>();
+                boolean subscribe;
+                synchronized (pendingRequests) {
+                    Iterator<Map.Entry<String, Boolean>> it = pendingRequests.entrySet().iterator();
+                    if (!it.hasNext()) {
+                        return;
+                    }
+                    Map.Entry<String, Boolean> first = it.next();
+                    subscribe = first.getValue();
+                    topics.add(first.getKey());
+                    it.remove();
+                    boolean batched = subscribe ? batchedSubscribe : batchedUnsubscribe;
+                    int limit = batched ? Math.max(exchangeConfig.getMaxTopicsPerMessage(), 1) : 1;
+                    while (topics.size() < limit && it.hasNext()) {
+                        Map.Entry<String, Boolean> entry = it.next();
+                        if (entry.getValue() != subscribe) {
+                            break;
+                        }
+                        topics.add(entry.getKey());
+                        it.remove();
+                    }
+                }
+                sendMessage(subscribe ? buildSubscribeMessage(topics) : buildUnsubscribeMessage(topics));
+                log.debug("[{}] Sent batched {} for {} topics", exchangeConfig.getExchangeType().getCode(),
+                        subscribe ? "subscribe" : "unsubscribe", topics.size());
+            }
+        } catch (Exception e) {
+            log.error("[{}] Failed to send batched subscription", exchangeConfig.getExchangeType().getCode(), e);
+        }
+    }
+
     /**
      * 发送消息
      */
@@ -122,26 +394,54 @@ public abstract class ExchangeWebSocketClient {
     }
 
     /**
-     * 处理收到的消息
+     * 处理收到的消息，content 仅在本方法内有效
      */
-    private void handleMessage(String rawMessage) {
-        // 先检查是否为心跳响应
-        HeartbeatStrategy strategy = createHeartbeatStrategy();
-        if (strategy != null && strategy.isHeartbeatResponse(rawMessage)) {
+    private void handleMessage(ByteBuf content) {
+        // 先以字节比较检查是否为心跳响应，不进入解析
+        HeartbeatStrategy strategy = heartbeatStrategy;
+        if (strategy != null && strategy.isHeartbeatResponse(content)) {
+            WebSocketClient client = webSocketClient;
+            if (client != null) {
+                client.getHeartbeatStats().onHeartbeatResponse();
+            }
             return;
         }
 
         try {
-            ParsedMessage parsed = parseMessage(rawMessage);
+            ParsedMessage parsed = parseMessage(content);
             if (parsed != null && parsed.topic() != null) {
-                subscriptionManager.dispatch(parsed.topic(), parsed.payload());
+                if (parsed.payload() == null && subscriptionManager.requiresPayload(parsed.topic())) {
+                    // 字节解析路径未生成 payload，但有只实现两参数 onData 的监听器：content 仅在此期间有效，就地解码
+                    parsed = new ParsedMessage(parsed.topic(), FrameBytes.toString(content), parsed.data(),
+                            parsed.conflatable());
+                }
+                dispatch(parsed);
             }
-            onMessage(rawMessage);
+            onMessage(content);
         } catch (Exception e) {
-            log.error("[{}] Error handling message: {}", exchangeConfig.getExchangeType().getCode(), rawMessage, e);
+            log.error("[{}] Error handling message: {}", exchangeConfig.getExchangeType().getCode(),
+                    FrameBytes.toString(content), e);
         }
     }
 
+    /**
+     * 将解析结果交给分发执行器回调监听器
+     */
+    private void dispatch(ParsedMessage parsed) {
+        LongAdder count = topicMessageCounts.get(parsed.topic());
+        if (count != null) {
+            count.increment();
+        }
+        DispatchExecutor executor = dispatchExecutor;
+        if (executor == null) {
+            subscriptionManager.dispatch(parsed.topic(), parsed.payload(), parsed.data());
+            return;
+        }
+        executor.execute(parsed.topic(),
+                () -> subscriptionManager.dispatch(parsed.topic(), parsed.payload(), parsed.data()),
+                parsed.conflatable());
+    }
+
     // ==================== 模板方法 ====================
 
     /**
@@ -154,16 +454,66 @@ public abstract class ExchangeWebSocketClient {
      */
     protected abstract String buildUnsubscribeMessage(String topic);
 
+    /**
+     * 构建批量订阅消息，启用批量订阅时使用
+     * <p>
+     * 未覆写时待发送队列每次只取一个 topic，本方法只会收到单个 topic，
+     * 默认使用单 topic 构建方法及该 topic 的订阅参数。
+     */
+    protected String buildSubscribeMessage(List<String> topics) {
+        if (topics.size() != 1) {
+            throw new IllegalArgumentException("Batched subscribe is not implemented by "
+                    + getClass().getSimpleName() + ", expected a single topic but got " + topics.size());
+        }
+        String topic = topics.get(0);
+        return buildSubscribeMessage(topic, subscriptionManager.getParams(topic));
+    }
+
+    /**
+     * 构建批量取消订阅消息，启用批量订阅时使用
+     * <p>
+     * 未覆写时待发送队列每次只取一个 topic，默认使用单 topic 构建方法。
+     */
+    protected String buildUnsubscribeMessage(List<String> topics) {
+        if (topics.size() != 1) {
+            throw new IllegalArgumentException("Batched unsubscribe is not implemented by "
+                    + getClass().getSimpleName() + ", expected a single topic but got " + topics.size());
+        }
+        return buildUnsubscribeMessage(topics.get(0));
+    }
+
     /**
      * 解析交易所消息，提取 topic 和 payload（子类实现）
      */
     protected abstract ParsedMessage parseMessage(String rawMessage);
 
     /**
-     * 创建交易所特定的心跳策略（子类实现）
+     * 直接从文本帧的 UTF-8 字节解析交易所消息（只读，不改变 readerIndex，仅在调用期间有效）
+     * <p>
+     * 默认解码为 String 后调用 {@link #parseMessage(String)}。子类可覆写并借助
+     * {@link FrameBytes#parse} 交给基于 byte[] 的解析器；此时 payload 可为 null，
+     * 但必须通过 data 携带解码结果。topic 存在只实现两参数 onData 的监听器时，
+     * 基类会在分发前把帧解码为 payload，这类监听器不会收到 null。
+     */
+    protected ParsedMessage parseMessage(ByteBuf content) {
+        return parseMessage(FrameBytes.toString(content));
+    }
+
+    /**
+     * 创建交易所特定的心跳策略（子类实现），每次 connect 调用一次
      */
     protected abstract HeartbeatStrategy createHeartbeatStrategy();
 
+    /**
+     * 创建订阅消息分发执行器，默认按 ExchangeConfig 的 dispatch 配置创建（子类可覆写）
+     */
+    protected DispatchExecutor createDispatchExecutor() {
+        return DispatchExecutor.create(exchangeConfig.getExchangeType().getCode(),
+                exchangeConfig.getDispatchMode(),
+                exchangeConfig.getDispatchLanes(),
+                exchangeConfig.getDispatchQueueCapacity());
+    }
+
     // ==================== 生命周期回调（子类可覆写） ====================
 
     protected void onConnected() {
@@ -174,6 +524,30 @@ public abstract class ExchangeWebSocketClient {
         log.warn("[{}] Connection lost", exchangeConfig.getExchangeType().getCode());
     }
 
+    /**
+     * 自动重连成功，活跃订阅已重新提交（批量模式下可能尚在发送队列中）
+     */
+    protected void onReconnected() {
+        log.info("[{}] Reconnected to exchange", exchangeConfig.getExchangeType().getCode());
+    }
+
+    /**
+     * 收到消息后的回调，content 只读且仅在调用期间有效
+     * <p>
+     * 默认在子类覆写了 {@link #onMessage(String)} 时解码为 String 并转交给它，否则不做任何处理。
+     */
+    protected void onMessage(ByteBuf content) {
+        if (legacyMessageHook) {
+            onMessage(FrameBytes.toString(content));
+        }
+    }
+
+    /**
+     * 收到消息后的回调
+     *
+     * @deprecated 每条消息都需解码为 String，改为覆写 {@link #onMessage(ByteBuf)}
+     */
+    @Deprecated
     protected void onMessage(String rawMessage) {
         // 子类可覆写做额外处理
     }
@@ -182,9 +556,39 @@ public abstract class ExchangeWebSocketClient {
         log.error("[{}] Error occurred", exchangeConfig.getExchangeType().getCode(), cause);
     }
 
+    /**
+     * 子类（直到本类为止）是否覆写了指定方法
+     */
+    private static boolean overrides(Class<?> type, String name, Class<?>... parameterTypes) {
+        for (Class<?> c = type; c != ExchangeWebSocketClient.class; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod(name, parameterTypes);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // 继续向上查找
+            }
+        }
+        return false;
+    }
+
     /**
      * 解析后的消息
+     *
+     * @param topic   主题
+     * @param payload 原始报文；字节解析路径下可为 null，该 topic 存在只实现两参数 onData 的监听器时
+     *                由 handleMessage 从原始字节解码后再分发，否则三参数 onData 收到 null
+     * @param data    解析 topic 时顺带解码的数据（如 K线），监听器可直接使用，避免重复解析；可为 null
+     * @param conflatable 可被同一 topic 的后续消息取代（如未收盘 K线的中间更新），分发积压时可合并；
+     *                    收盘 K线等不可丢失的消息必须为 false
      */
-    public record ParsedMessage(String topic, String payload) {
+    public record ParsedMessage(String topic, String payload, Object data, boolean conflatable) {
+
+        public ParsedMessage(String topic, String payload) {
+            this(topic, payload, null);
+        }
+
+        public ParsedMessage(String topic, String payload, Object data) {
+            this(topic, payload, data, false);
+        }
     }
 }
@@ -0,0 +1,388 @@
+package com.vertex.framework.socket.exchange;
+
+import com.vertex.framework.socket.client.ClientSslContexts;
+import com.vertex.framework.socket.subscription.Subscription;
+import com.vertex.framework.socket.subscription.SubscriptionListener;
+import com.vertex.framework.socket.transport.SocketTransport;
+import com.vertex.framework.socket.transport.TransportType;
+import io.netty.channel.EventLoopGroup;
+import io.netty.handler.ssl.SslContext;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * 多连接分片的交易所客户端
+ * <p>
+ * 同一交易所的 topic 分布到多个 {@link ExchangeWebSocketClient} 连接上，全部连接运行在同一个
+ * EventLoopGroup（默认线程数为 CPU 核数），接收与解析可以扩展到多个核心：
+ * <ul>
+ *   <li>启动时建立 {@link ExchangeConfig#getConnectionCount()} 个连接；全部连接都达到
+ *       {@link ExchangeConfig#getMaxTopicsPerConnection()} 时自动新建连接</li>
+ *   <li>周期采样每个 topic 的消息速率（指数平滑），新 topic 放到负载（速率之和）最低的连接，
+ *       尚无采样数据的 topic 按当前平均速率估算</li>
+ *   <li>某个连接重连时，它上面的 topic 本就需要重新订阅，借此按速率从高到低重新放置，
+ *       把热点 topic 迁往负载较低的连接；其他连接上的订阅不受影响</li>
+ *   <li>wss 连接共享同一个 SslContext，新分片与重连可以复用已有的 TLS 会话</li>
+ * </ul>
+ */
+@Slf4j
+public class ShardedExchangeClient {
+
+    /** 速率采样周期（秒） */
+    private static final long RATE_SAMPLE_SECONDS = 5;
+
+    /** 速率指数平滑系数，越大越偏向最近一次采样 */
+    private static final double RATE_SMOOTHING = 0.5;
+
+    @Getter
+    private final ExchangeConfig exchangeConfig;
+
+    /** 分片工厂，参数为分片序号 */
+    private final IntFunction<? extends ExchangeWebSocketClient> shardFactory;
+
+    private final List<ExchangeWebSocketClient> shards = new CopyOnWriteArrayList<>();
+
+    /** topic → 所在分片与速率 */
+    private final Map<String, TopicLoad> placement = new ConcurrentHashMap<>();
+
+    /** 外部提供的共享线程组，为 null 时 connect 自建 */
+    private final EventLoopGroup sharedGroup;
+
+    /** 实际使用的线程组 */
+    private EventLoopGroup eventLoopGroup;
+
+    /** 全部分片共享的 SslContext，非 wss 地址时为 null */
+    private SslContext sslContext;
+
+    private ScheduledExecutorService rateSampler;
+
+    private volatile boolean started = false;
+
+    public ShardedExchangeClient(ExchangeConfig exchangeConfig,
+                                 IntFunction<? extends ExchangeWebSocketClient> shardFactory) {
+        this(exchangeConfig, shardFactory, null);
+    }
+
+    /**
+     * @param sharedGroup 共享的 EventLoopGroup（如 socketEventLoopGroup Bean），生命周期由调用方管理；
+     *                    为 null 时自建 CPU 核数线程的线程组（Linux 上使用 epoll）
+     */
+    public ShardedExchangeClient(ExchangeConfig exchangeConfig,
+                                 IntFunction<? extends ExchangeWebSocketClient> shardFactory,
+                                 EventLoopGroup sharedGroup) {
+        this.exchangeConfig = exchangeConfig;
+        this.shardFactory = shardFactory;
+        this.sharedGroup = sharedGroup;
+    }
+
+    /**
+     * 建立 connectionCount 个连接，并连接此前已创建但未连接的分片
+     */
+    public synchronized void connect() throws Exception {
+        if (eventLoopGroup == null) {
+            eventLoopGroup = sharedGroup != null ? sharedGroup : SocketTransport.newEventLoopGroup(
+                    TransportType.AUTO, 0, exchangeConfig.getExchangeType().getCode() + "-ws");
+        }
+        if (sslContext == null && exchangeConfig.getWsUrl().startsWith("wss")) {
+            sslContext = ClientSslContexts.forClient();
+        }
+        started = true;
+        for (ExchangeWebSocketClient shard : shards) {
+            if (!shard.isConnected()) {
+                shard.setEventLoopGroup(eventLoopGroup);
+                shard.setSslContext(sslContext);
+                shard.connect();
+            }
+        }
+        while (shards.size() < Math.max(exchangeConfig.getConnectionCount(), 1)) {
+            newShard();
+        }
+        startRateSampler();
+    }
+
+    /**
+     * 断开全部分片
+     */
+    public synchronized void disconnect() {
+        started = false;
+        if (rateSampler != null) {
+            rateSampler.shutdownNow();
+            rateSampler = null;
+        }
+        for (ExchangeWebSocketClient shard : shards) {
+            shard.disconnect();
+        }
+        shards.clear();
+        placement.clear();
+        if (eventLoopGroup != null && eventLoopGroup != sharedGroup) {
+            eventLoopGroup.shutdownGracefully();
+        }
+        eventLoopGroup = null;
+    }
+
+    /**
+     * 订阅主题，已订阅的 topic 追加监听器到原分片；需要新分片且已启动时会同步建立连接
+     */
+    public synchronized void subscribe(String topic, SubscriptionListener listener) throws Exception {
+        TopicLoad load = placement.get(topic);
+        if (load == null) {
+            load = new TopicLoad(selectShard(), averageRate());
+            placement.put(topic, load);
+        }
+        load.shard.subscribe(topic, listener);
+    }
+
+    /**
+     * 取消订阅主题
+     */
+    public synchronized void unsubscribe(String topic) {
+        TopicLoad load = placement.remove(topic);
+        if (load != null) {
+            load.shard.unsubscribe(topic);
+        }
+    }
+
+    /**
+     * 是否至少有一个分片连接可用
+     */
+    public boolean isConnected() {
+        for (ExchangeWebSocketClient shard : shards) {
+            if (shard.isConnected()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 当前全部分片
+     */
+    public List<ExchangeWebSocketClient> getShards() {
+        return Collections.unmodifiableList(new ArrayList<>(shards));
+    }
+
+    /**
+     * 已订阅的 topic 数
+     */
+    public int getTopicCount() {
+        return placement.size();
+    }
+
+    /**
+     * topic 的平滑消息速率（条/秒），未订阅时返回 0
+     */
+    public double getTopicRate(String topic) {
+        TopicLoad load = placement.get(topic);
+        return load != null ? load.rate : 0D;
+    }
+
+    /**
+     * 分片的负载，即其上全部 topic 的消息速率之和（条/秒）
+     */
+    public double getShardLoad(ExchangeWebSocketClient shard) {
+        double sum = 0D;
+        for (TopicLoad load : placement.values()) {
+            if (load.shard == shard) {
+                sum += load.rate;
+            }
+        }
+        return sum;
+    }
+
+    // ==================== 放置与再均衡 ====================
+
+    /**
+     * 负载最低且未满的分片，全部已满时创建新分片
+     */
+    private ExchangeWebSocketClient selectShard() throws Exception {
+        // 启动前订阅时先建齐 connectionCount 个分片，保证 topic 从一开始就分散
+        while (shards.size() < Math.max(exchangeConfig.getConnectionCount(), 1)) {
+            newShard();
+        }
+        Map<ExchangeWebSocketClient, double[]> stats = shardStats();
+        int limit = exchangeConfig.getMaxTopicsPerConnection();
+        ExchangeWebSocketClient best = null;
+        for (ExchangeWebSocketClient shard : shards) {
+            double[] stat = stats.get(shard);
+            if (limit > 0 && stat[1] >= limit) {
+                continue;
+            }
+            if (best == null || compare(stat, stats.get(best)) < 0) {
+                best = shard;
+            }
+        }
+        return best != null ? best : newShard();
+    }
+
+    /**
+     * 重连分片上的 topic 按速率从高到低重新放置到负载最低的分片，负载相同时留在原分片
+     */
+    private synchronized void rebalance(ExchangeWebSocketClient reconnected) {
+        if (!started || shards.size() < 2 || !shards.contains(reconnected)) {
+            return;
+        }
+        List<Map.Entry<String, TopicLoad>> topics = new ArrayList<>();
+        for (Map.Entry<String, TopicLoad> entry : placement.entrySet()) {
+            if (entry.getValue().shard == reconnected) {
+                topics.add(entry);
+            }
+        }
+        topics.sort(Comparator.comparingDouble((Map.Entry<String, TopicLoad> e) -> e.getValue().rate).reversed());
+
+        // 除重连分片的 topic 外的负载，重连分片从零开始
+        Map<ExchangeWebSocketClient, double[]> stats = shardStats();
+        stats.put(reconnected, new double[2]);
+        int limit = exchangeConfig.getMaxTopicsPerConnection();
+        int moved = 0;
+        for (Map.Entry<String, TopicLoad> entry : topics) {
+            ExchangeWebSocketClient target = reconnected;
+            for (ExchangeWebSocketClient shard : shards) {
+                double[] stat = stats.get(shard);
+                if (limit > 0 && stat[1] >= limit) {
+                    continue;
+                }
+                if (compare(stat, stats.get(target)) < 0) {
+                    target = shard;
+                }
+            }
+            double[] stat = stats.get(target);
+            stat[0] += entry.getValue().rate;
+            stat[1]++;
+            if (target != reconnected) {
+                move(entry.getKey(), entry.getValue(), target);
+                moved++;
+            }
+        }
+        if (moved > 0) {
+            log.info("[{}] Rebalanced {} of {} topics away from reconnected shard #{}",
+                    exchangeConfig.getExchangeType().getCode(), moved, topics.size(), shards.indexOf(reconnected));
+        }
+    }
+
+    /**
+     * 把 topic 连同全部监听器迁移到目标分片
+     */
+    private void move(String topic, TopicLoad load, ExchangeWebSocketClient target) {
+        List<Subscription> subscriptions = load.shard.getSubscriptionManager().getSubscriptions(topic);
+        load.shard.unsubscribe(topic);
+        for (Subscription subscription : subscriptions) {
+            target.subscribe(topic, subscription.getParams(), subscription.getListener());
+        }
+        load.shard = target;
+        load.lastCount = 0L;
+    }
+
+    /**
+     * 每个分片的 [负载, topic 数]
+     */
+    private Map<ExchangeWebSocketClient, double[]> shardStats() {
+        Map<ExchangeWebSocketClient, double[]> stats = new IdentityHashMap<>();
+        for (ExchangeWebSocketClient shard : shards) {
+            stats.put(shard, new double[2]);
+        }
+        for (TopicLoad load : placement.values()) {
+            double[] stat = stats.get(load.shard);
+            if (stat != null) {
+                stat[0] += load.rate;
+                stat[1]++;
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * 先比较负载，再比较 topic 数
+     */
+    private static int compare(double[] a, double[] b) {
+        int byLoad = Double.compare(a[0], b[0]);
+        return byLoad != 0 ? byLoad : Double.compare(a[1], b[1]);
+    }
+
+    private double averageRate() {
+        if (placement.isEmpty()) {
+            return 0D;
+        }
+        double sum = 0D;
+        for (TopicLoad load : placement.values()) {
+            sum += load.rate;
+        }
+        return sum / placement.size();
+    }
+
+    // ==================== 速率采样 ====================
+
+    private void startRateSampler() {
+        if (rateSampler != null) {
+            return;
+        }
+        String code = exchangeConfig.getExchangeType().getCode();
+        rateSampler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, code + "-shard-rate");
+            thread.setDaemon(true);
+            return thread;
+        });
+        rateSampler.scheduleAtFixedRate(this::sampleRates, RATE_SAMPLE_SECONDS, RATE_SAMPLE_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private synchronized void sampleRates() {
+        try {
+            for (Map.Entry<String, TopicLoad> entry : placement.entrySet()) {
+                TopicLoad load = entry.getValue();
+                long count = load.shard.getTopicMessageCount(entry.getKey());
+                long delta = count >= load.lastCount ? count - load.lastCount : count;
+                load.lastCount = count;
+                double sampled = (double) delta / RATE_SAMPLE_SECONDS;
+                load.rate = load.rate * (1 - RATE_SMOOTHING) + sampled * RATE_SMOOTHING;
+            }
+        } catch (Exception e) {
+            log.error("[{}] Failed to sample topic rates", exchangeConfig.getExchangeType().getCode(), e);
+        }
+    }
+
+    private ExchangeWebSocketClient newShard() throws Exception {
+        int index = shards.size();
+        ExchangeWebSocketClient shard = shardFactory.apply(index);
+        shard.setReconnectListener(this::rebalance);
+        shards.add(shard);
+        if (started) {
+            shard.setEventLoopGroup(eventLoopGroup);
+            shard.setSslContext(sslContext);
+            shard.connect();
+        }
+        log.info("[{}] Opened connection shard #{}, total shards: {}",
+                exchangeConfig.getExchangeType().getCode(), index, shards.size());
+        return shard;
+    }
+
+    /**
+     * topic 的放置位置与速率，字段只在持有 ShardedExchangeClient 锁时修改
+     */
+    private static final class TopicLoad {
+
+        private volatile ExchangeWebSocketClient shard;
+
+        /** 上次采样时的累计消息数 */
+        private long lastCount;
+
+        /** 平滑后的消息速率（条/秒） */
+        private volatile double rate;
+
+        private TopicLoad(ExchangeWebSocketClient shard, double rate) {
+            this.shard = shard;
+            this.rate = rate;
+        }
+    }
+}
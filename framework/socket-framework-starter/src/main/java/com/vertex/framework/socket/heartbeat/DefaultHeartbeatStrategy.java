@@ -1,5 +1,7 @@
 package com.vertex.framework.socket.heartbeat;
 
+import com.vertex.framework.socket.codec.FrameBytes;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.handler.codec.http.websocketx.PingWebSocketFrame;
 import lombok.extern.slf4j.Slf4j;
@@ -23,6 +25,11 @@ public class DefaultHeartbeatStrategy implements HeartbeatStrategy {
         return "pong".equalsIgnoreCase(message);
     }
 
+    @Override
+    public boolean isHeartbeatResponse(ByteBuf content) {
+        return FrameBytes.equalsAscii(content, "pong", true);
+    }
+
     @Override
     public void handleHeartbeatResponse(Channel channel, String message) {
         log.debug("Received pong from {}", channel.remoteAddress());
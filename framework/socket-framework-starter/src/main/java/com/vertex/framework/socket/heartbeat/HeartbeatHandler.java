@@ -17,11 +17,17 @@ public class HeartbeatHandler extends ChannelInboundHandlerAdapter {
 
     private final HeartbeatStrategy heartbeatStrategy;
     private final int maxMissedHeartbeats;
+    private final HeartbeatStats heartbeatStats;
     private int missedHeartbeats = 0;
 
-    public HeartbeatHandler(HeartbeatStrategy heartbeatStrategy, int maxMissedHeartbeats) {
+    public HeartbeatHandler(HeartbeatStrategy heartbeatStrategy, int maxMissedHeartbeats, HeartbeatStats heartbeatStats) {
         this.heartbeatStrategy = heartbeatStrategy;
         this.maxMissedHeartbeats = maxMissedHeartbeats;
+        this.heartbeatStats = heartbeatStats;
+    }
+
+    public HeartbeatHandler(HeartbeatStrategy heartbeatStrategy, int maxMissedHeartbeats) {
+        this(heartbeatStrategy, maxMissedHeartbeats, null);
     }
 
     public HeartbeatHandler(HeartbeatStrategy heartbeatStrategy) {
@@ -39,15 +45,22 @@ public class HeartbeatHandler extends ChannelInboundHandlerAdapter {
                     ctx.close();
                     return;
                 }
-                heartbeatStrategy.sendHeartbeat(ctx.channel());
+                sendHeartbeat(ctx);
             } else if (idleEvent.state() == IdleState.WRITER_IDLE) {
-                heartbeatStrategy.sendHeartbeat(ctx.channel());
+                sendHeartbeat(ctx);
             }
         } else {
             super.userEventTriggered(ctx, evt);
         }
     }
 
+    private void sendHeartbeat(ChannelHandlerContext ctx) {
+        heartbeatStrategy.sendHeartbeat(ctx.channel());
+        if (heartbeatStats != null) {
+            heartbeatStats.onHeartbeatSent();
+        }
+    }
+
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
         // 收到任何消息，重置心跳计数
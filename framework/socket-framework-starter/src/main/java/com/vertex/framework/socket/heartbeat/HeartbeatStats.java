@@ -0,0 +1,83 @@
+package com.vertex.framework.socket.heartbeat;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 心跳往返时延统计
+ * <p>
+ * 发送心跳时记录时间，收到心跳响应（Pong 帧或交易所文本 pong）时计算往返时延。
+ * 未发出心跳时收到的响应（对端主动推送）不计入统计。
+ */
+public class HeartbeatStats {
+
+    /** 最近一次未响应心跳的发送时间，0 表示没有未响应的心跳 */
+    private volatile long pendingSinceNanos;
+
+    private volatile long lastRttNanos = -1;
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder totalRttNanos = new LongAdder();
+    private final LongAccumulator minRttNanos = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator maxRttNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * 已发送心跳
+     */
+    public void onHeartbeatSent() {
+        sent.increment();
+        pendingSinceNanos = System.nanoTime();
+    }
+
+    /**
+     * 收到心跳响应
+     */
+    public void onHeartbeatResponse() {
+        long since = pendingSinceNanos;
+        if (since == 0) {
+            return;
+        }
+        pendingSinceNanos = 0;
+        long rtt = System.nanoTime() - since;
+        lastRttNanos = rtt;
+        received.increment();
+        totalRttNanos.add(rtt);
+        minRttNanos.accumulate(rtt);
+        maxRttNanos.accumulate(rtt);
+    }
+
+    // ==================== 指标 ====================
+
+    /** 最近一次往返时延（纳秒），尚无数据时为 -1 */
+    public long getLastRttNanos() {
+        return lastRttNanos;
+    }
+
+    /** 平均往返时延（纳秒），尚无数据时为 -1 */
+    public long getAverageRttNanos() {
+        long count = received.sum();
+        return count == 0 ? -1 : totalRttNanos.sum() / count;
+    }
+
+    /** 最小往返时延（纳秒），尚无数据时为 -1 */
+    public long getMinRttNanos() {
+        long min = minRttNanos.get();
+        return min == Long.MAX_VALUE ? -1 : min;
+    }
+
+    /** 最大往返时延（纳秒），尚无数据时为 -1 */
+    public long getMaxRttNanos() {
+        return received.sum() == 0 ? -1 : maxRttNanos.get();
+    }
+
+    /** 已发送心跳数 */
+    public long getSentCount() {
+        return sent.sum();
+    }
+
+    /** 已计入统计的心跳响应数 */
+    public long getResponseCount() {
+        return received.sum();
+    }
+}
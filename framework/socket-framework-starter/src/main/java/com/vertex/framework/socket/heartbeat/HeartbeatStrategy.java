@@ -1,7 +1,11 @@
 package com.vertex.framework.socket.heartbeat;
 
+import com.vertex.framework.socket.codec.FrameBytes;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * 心跳策略接口
  * <p>
@@ -22,6 +26,29 @@ public interface HeartbeatStrategy {
      */
     boolean isHeartbeatResponse(String message);
 
+    /**
+     * 心跳响应文本帧的固定 ASCII 前缀，用于在解析前以字节比较快速识别
+     * <p>
+     * 返回 null 表示没有固定前缀，需要解码后由 {@link #isHeartbeatResponse(String)} 判断。
+     */
+    default String heartbeatResponsePrefix() {
+        return null;
+    }
+
+    /**
+     * 判断文本帧字节是否为心跳响应，不改变 readerIndex
+     * <p>
+     * 有固定前缀时只比较前缀字节；否则解码为 String 后调用 {@link #isHeartbeatResponse(String)}。
+     * 固定短文本心跳的策略应覆写本方法或提供前缀，避免每帧解码。
+     */
+    default boolean isHeartbeatResponse(ByteBuf content) {
+        String prefix = heartbeatResponsePrefix();
+        if (prefix != null) {
+            return FrameBytes.startsWithAscii(content, prefix);
+        }
+        return isHeartbeatResponse(content.toString(StandardCharsets.UTF_8));
+    }
+
     /**
      * 处理心跳响应
      */
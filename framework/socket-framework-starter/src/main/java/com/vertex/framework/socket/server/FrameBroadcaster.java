@@ -0,0 +1,116 @@
+package com.vertex.framework.socket.server;
+
+import com.vertex.framework.socket.core.SocketSession;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoop;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 一次编码、多次写出的文本帧广播
+ * <p>
+ * 消息只做一次 UTF-8 编码，写入池化的 ByteBuf；每个连接写出的是该 ByteBuf 的 {@code retainedDuplicate()}，
+ * 共享同一块内存、各自维护读写索引，全部写出完成后内存归还内存池。
+ * 相比逐个连接 {@code new TextWebSocketFrame(String)}，N 个接收者只需一次编码与一次分配。
+ * <p>
+ * 写出在连接所属的 EventLoop 上执行，经 {@link SlowConsumerHandler} 处理不可写的慢连接。
+ * 按 EventLoop 分组时，每个 EventLoop 只提交一个任务，依次写出其负责的全部连接；
+ * 不分组时每个连接单独提交一个任务。
+ */
+public final class FrameBroadcaster {
+
+    private FrameBroadcaster() {
+    }
+
+    /**
+     * 广播文本帧（无 topic）
+     *
+     * @return 写出的会话数
+     */
+    public static int broadcast(Iterable<SocketSession> sessions, String text, boolean groupByEventLoop) {
+        return broadcast(sessions, null, text, groupByEventLoop);
+    }
+
+    /**
+     * 广播文本帧
+     *
+     * @param sessions         接收者
+     * @param topic            消息 topic，慢连接按 topic 合并；广播为 null
+     * @param text             文本内容
+     * @param groupByEventLoop 是否按 EventLoop 分组写出
+     * @return 写出的会话数（含被慢消费者策略处理的会话）
+     */
+    public static int broadcast(Iterable<SocketSession> sessions, String topic, String text, boolean groupByEventLoop) {
+        Map<EventLoop, List<Channel>> groups = new IdentityHashMap<>();
+        List<Channel> channels = new ArrayList<>();
+        for (SocketSession session : sessions) {
+            if (session.isActive()) {
+                Channel channel = session.getChannel();
+                if (groupByEventLoop) {
+                    groups.computeIfAbsent(channel.eventLoop(), loop -> new ArrayList<>()).add(channel);
+                } else {
+                    channels.add(channel);
+                }
+            }
+        }
+        if (groups.isEmpty() && channels.isEmpty()) {
+            return 0;
+        }
+
+        ByteBuf content = ByteBufUtil.writeUtf8(ByteBufAllocator.DEFAULT, text);
+        int sent = 0;
+        try {
+            for (Map.Entry<EventLoop, List<Channel>> entry : groups.entrySet()) {
+                sent += submit(entry.getKey(), entry.getValue(), topic, content);
+            }
+            for (Channel channel : channels) {
+                sent += submit(channel.eventLoop(), List.of(channel), topic, content);
+            }
+        } finally {
+            content.release();
+        }
+        return sent;
+    }
+
+    /**
+     * 在 EventLoop 上写出一组连接
+     *
+     * @return 提交成功的连接数
+     */
+    private static int submit(EventLoop loop, List<Channel> channels, String topic, ByteBuf content) {
+        if (loop.inEventLoop()) {
+            writeAll(channels, topic, content);
+            return channels.size();
+        }
+        // 任务持有一份引用，执行完毕后释放
+        ByteBuf shared = content.retain();
+        try {
+            loop.execute(() -> {
+                try {
+                    writeAll(channels, topic, shared);
+                } finally {
+                    shared.release();
+                }
+            });
+            return channels.size();
+        } catch (RuntimeException e) {
+            // EventLoop 已关闭，任务未被接收
+            shared.release();
+            return 0;
+        }
+    }
+
+    private static void writeAll(List<Channel> channels, String topic, ByteBuf content) {
+        for (Channel channel : channels) {
+            if (channel.isActive()) {
+                SlowConsumerHandler.write(channel, topic, content.retainedDuplicate());
+            }
+        }
+    }
+}
@@ -58,14 +58,10 @@ public class SessionRegistry {
     }
 
     /**
-     * 广播消息给所有会话
+     * 广播消息给所有会话，消息只编码一次（见 {@link FrameBroadcaster}）
      */
     public void broadcast(String message) {
-        sessions.values().forEach(session -> {
-            if (session.isActive()) {
-                session.send(message);
-            }
-        });
+        FrameBroadcaster.broadcast(sessions.values(), message, true);
     }
 
     /**
@@ -0,0 +1,161 @@
+package com.vertex.framework.socket.server;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.util.AttributeKey;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 慢消费者保护
+ * <p>
+ * 配合 WRITE_BUFFER_WATER_MARK 使用：出站缓冲超过高水位后 Channel 变为不可写，
+ * 此时推送按 {@link SlowConsumerPolicy} 处理，而不是继续堆积在出站缓冲中：
+ * <ul>
+ *   <li>CONFLATE：每个 topic 只保留最新一条，缓冲降到低水位以下后按 topic 首次积压的顺序补发</li>
+ *   <li>DROP：直接丢弃</li>
+ *   <li>DISCONNECT：断开连接</li>
+ * </ul>
+ * 每个连接一个实例，状态只在该连接的 EventLoop 上访问，{@link #write} 必须在 EventLoop 线程调用。
+ * 广播、按 topic 推送与 {@code SocketSession.send} 都经由 {@link #write} 写出，后者没有 topic，
+ * CONFLATE 策略下与广播一样直接丢弃。
+ */
+@Slf4j
+public class SlowConsumerHandler extends ChannelInboundHandlerAdapter {
+
+    private static final AttributeKey<SlowConsumerHandler> HANDLER_KEY = AttributeKey.valueOf("slowConsumerHandler");
+
+    private final SlowConsumerPolicy policy;
+    private final SlowConsumerStats stats;
+
+    /** 不可写期间积压的最新消息：topic → 内容 */
+    private final Map<String, ByteBuf> pending = new LinkedHashMap<>();
+
+    public SlowConsumerHandler(SlowConsumerPolicy policy, SlowConsumerStats stats) {
+        this.policy = policy;
+        this.stats = stats;
+    }
+
+    /**
+     * 向连接写出一条文本帧，连接不可写时按策略处理；未安装本 Handler 的连接直接写出
+     *
+     * @param topic   消息 topic，广播为 null
+     * @param content 帧内容，所有权转移给本方法
+     */
+    public static void write(Channel channel, String topic, ByteBuf content) {
+        write(channel, topic, content, channel.voidPromise());
+    }
+
+    /**
+     * 同 {@link #write(Channel, String, ByteBuf)}，结果通过 promise 通知：
+     * 写出或进入积压时成功，被策略丢弃或连接被断开时失败
+     */
+    public static void write(Channel channel, String topic, ByteBuf content, ChannelPromise promise) {
+        SlowConsumerHandler handler = channel.attr(HANDLER_KEY).get();
+        if (handler == null) {
+            channel.writeAndFlush(new TextWebSocketFrame(content), promise);
+        } else {
+            handler.write0(channel, topic, content, promise);
+        }
+    }
+
+    private void write0(Channel channel, String topic, ByteBuf content, ChannelPromise promise) {
+        if (channel.isWritable()) {
+            if (!pending.isEmpty()) {
+                drain(channel);
+            }
+            channel.writeAndFlush(new TextWebSocketFrame(content), promise);
+            return;
+        }
+        switch (policy) {
+            case CONFLATE -> {
+                if (topic == null) {
+                    content.release();
+                    stats.onDropped();
+                    reject(promise);
+                    return;
+                }
+                ByteBuf previous = pending.put(topic, content);
+                if (previous != null) {
+                    previous.release();
+                    stats.onConflated();
+                }
+                promise.trySuccess();
+            }
+            case DROP -> {
+                content.release();
+                stats.onDropped();
+                reject(promise);
+            }
+            case DISCONNECT -> {
+                content.release();
+                reject(promise);
+                if (channel.isActive()) {
+                    stats.onDisconnected();
+                    log.warn("Closing slow consumer {}, {} bytes above low water mark",
+                            channel.remoteAddress(), channel.bytesBeforeWritable());
+                    channel.close();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        ctx.channel().attr(HANDLER_KEY).set(this);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        ctx.channel().attr(HANDLER_KEY).set(null);
+        releasePending();
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        if (ctx.channel().isWritable() && !pending.isEmpty()) {
+            drain(ctx.channel());
+            ctx.channel().flush();
+        }
+        super.channelWritabilityChanged(ctx);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        releasePending();
+        super.channelInactive(ctx);
+    }
+
+    /**
+     * 补发积压的消息（不 flush）
+     */
+    private void drain(Channel channel) {
+        Iterator<ByteBuf> iterator = pending.values().iterator();
+        while (iterator.hasNext()) {
+            ByteBuf content = iterator.next();
+            iterator.remove();
+            channel.write(new TextWebSocketFrame(content));
+        }
+    }
+
+    /**
+     * 通知调用方消息未写出；void promise 失败会触发 exceptionCaught，直接跳过
+     */
+    private void reject(ChannelPromise promise) {
+        if (!promise.isVoid()) {
+            promise.tryFailure(new IllegalStateException("Rejected by slow consumer policy " + policy));
+        }
+    }
+
+    private void releasePending() {
+        pending.values().forEach(ByteBuf::release);
+        pending.clear();
+    }
+}
@@ -0,0 +1,18 @@
+package com.vertex.framework.socket.server;
+
+/**
+ * 慢消费者处理策略
+ * <p>
+ * 连接的出站缓冲超过高水位（Channel 不可写）时，新推送的处理方式
+ */
+public enum SlowConsumerPolicy {
+
+    /** 按 topic 只保留最新一条，恢复可写后补发；无 topic 的广播直接丢弃 */
+    CONFLATE,
+
+    /** 丢弃 */
+    DROP,
+
+    /** 断开连接 */
+    DISCONNECT
+}
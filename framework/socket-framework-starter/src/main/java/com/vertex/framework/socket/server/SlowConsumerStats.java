@@ -0,0 +1,42 @@
+package com.vertex.framework.socket.server;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 慢消费者统计，服务端全部连接共用
+ */
+public class SlowConsumerStats {
+
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder conflated = new LongAdder();
+    private final LongAdder disconnected = new LongAdder();
+
+    void onDropped() {
+        dropped.increment();
+    }
+
+    void onConflated() {
+        conflated.increment();
+    }
+
+    void onDisconnected() {
+        disconnected.increment();
+    }
+
+    // ==================== 指标 ====================
+
+    /** 因连接不可写而丢弃的消息数 */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /** 被同一 topic 更新的消息覆盖的消息数 */
+    public long getConflatedCount() {
+        return conflated.sum();
+    }
+
+    /** 因消费过慢被断开的连接数 */
+    public long getDisconnectedCount() {
+        return disconnected.sum();
+    }
+}
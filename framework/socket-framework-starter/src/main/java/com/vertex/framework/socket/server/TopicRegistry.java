@@ -0,0 +1,126 @@
+package com.vertex.framework.socket.server;
+
+import com.vertex.framework.socket.core.SocketSession;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 服务端订阅索引
+ * <p>
+ * 维护 topic → 会话集合 以及 会话 → topic 集合 两个方向的映射：
+ * 按 topic 推送时只遍历订阅了该 topic 的会话，会话断开时按反向映射清理它订阅过的 topic。
+ * 同一 topic 的增删在 ConcurrentHashMap 的单个 key 上原子完成，最后一个订阅者离开时移除该 topic。
+ */
+@Slf4j
+public class TopicRegistry {
+
+    /** topic → 订阅该 topic 的会话 */
+    private final Map<String, Set<SocketSession>> topicSessions = new ConcurrentHashMap<>();
+
+    /** 会话 ID → 该会话订阅的 topic */
+    private final Map<String, Set<String>> sessionTopics = new ConcurrentHashMap<>();
+
+    /**
+     * 订阅
+     *
+     * @return 是否为新增订阅
+     */
+    public boolean subscribe(SocketSession session, String topic) {
+        boolean[] added = new boolean[1];
+        topicSessions.compute(topic, (key, sessions) -> {
+            if (sessions == null) {
+                sessions = ConcurrentHashMap.newKeySet();
+            }
+            added[0] = sessions.add(session);
+            return sessions;
+        });
+        sessionTopics.computeIfAbsent(session.getId(), id -> ConcurrentHashMap.newKeySet()).add(topic);
+        if (added[0]) {
+            log.debug("Session {} subscribed to {}", session.getId(), topic);
+        }
+        return added[0];
+    }
+
+    /**
+     * 取消订阅
+     *
+     * @return 会话此前是否订阅了该 topic
+     */
+    public boolean unsubscribe(SocketSession session, String topic) {
+        Set<String> topics = sessionTopics.get(session.getId());
+        if (topics != null) {
+            topics.remove(topic);
+        }
+        boolean removed = removeFromTopic(session, topic);
+        if (removed) {
+            log.debug("Session {} unsubscribed from {}", session.getId(), topic);
+        }
+        return removed;
+    }
+
+    /**
+     * 移除会话的全部订阅，会话断开时调用
+     */
+    public void removeSession(SocketSession session) {
+        Set<String> topics = sessionTopics.remove(session.getId());
+        if (topics == null) {
+            return;
+        }
+        for (String topic : topics) {
+            removeFromTopic(session, topic);
+        }
+        log.debug("Removed {} subscriptions of session {}", topics.size(), session.getId());
+    }
+
+    /**
+     * 订阅了 topic 的会话（只读视图），无订阅者时返回空集合
+     */
+    public Set<SocketSession> getSubscribers(String topic) {
+        Set<SocketSession> sessions = topicSessions.get(topic);
+        return sessions != null ? Collections.unmodifiableSet(sessions) : Collections.emptySet();
+    }
+
+    /**
+     * 会话订阅的 topic（只读视图）
+     */
+    public Set<String> getTopics(SocketSession session) {
+        Set<String> topics = sessionTopics.get(session.getId());
+        return topics != null ? Collections.unmodifiableSet(topics) : Collections.emptySet();
+    }
+
+    /**
+     * 有订阅者的 topic 数
+     */
+    public int getTopicCount() {
+        return topicSessions.size();
+    }
+
+    /**
+     * topic 的订阅者数
+     */
+    public int getSubscriberCount(String topic) {
+        Set<SocketSession> sessions = topicSessions.get(topic);
+        return sessions != null ? sessions.size() : 0;
+    }
+
+    /**
+     * 清空全部订阅
+     */
+    public void clear() {
+        topicSessions.clear();
+        sessionTopics.clear();
+    }
+
+    private boolean removeFromTopic(SocketSession session, String topic) {
+        boolean[] removed = new boolean[1];
+        topicSessions.computeIfPresent(topic, (key, sessions) -> {
+            removed[0] = sessions.remove(session);
+            return sessions.isEmpty() ? null : sessions;
+        });
+        return removed[0];
+    }
+}
@@ -1,25 +1,37 @@
 package com.vertex.framework.socket.server;
 
+import com.vertex.framework.socket.codec.JsonMessageCodec;
+import com.vertex.framework.socket.codec.MessageCodec;
+import com.vertex.framework.socket.core.SocketMessage;
+import com.vertex.framework.socket.core.SocketSession;
 import com.vertex.framework.socket.heartbeat.DefaultHeartbeatStrategy;
 import com.vertex.framework.socket.heartbeat.HeartbeatHandler;
+import com.vertex.framework.socket.transport.SocketTransport;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.*;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpServerCodec;
 import io.netty.handler.codec.http.websocketx.WebSocketServerProtocolHandler;
+import io.netty.handler.flush.FlushConsolidationHandler;
 import io.netty.handler.timeout.IdleStateHandler;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 /**
  * WebSocket 服务端
  * <p>
- * 启动 Netty Server，监听端口提供 WebSocket 服务
+ * 启动 Netty Server，监听端口提供 WebSocket 服务；传输层按 transportType 选择（Linux 上默认使用原生 epoll）
+ * <p>
+ * 客户端通过 SUBSCRIBE / UNSUBSCRIBE 消息订阅 topic，{@link #publish(String, String)} 只推送给该 topic 的订阅者，
+ * 推送开销与订阅者数成正比，与总连接数无关；{@link #broadcast(String)} 仍推送给全部连接。
+ * 两者都通过 {@link FrameBroadcaster} 一次编码、共享内存写出到各连接。
+ * <p>
+ * 连接的出站缓冲超过高水位后由 {@link SlowConsumerHandler} 按 {@link SlowConsumerPolicy} 合并、丢弃或断开，
+ * 单个慢连接不会无限堆积内存。
  */
 @Slf4j
 public class WebSocketServer {
@@ -30,6 +42,15 @@ public class WebSocketServer {
     @Getter
     private final SessionRegistry sessionRegistry;
 
+    @Getter
+    private final TopicRegistry topicRegistry;
+
+    private final MessageCodec messageCodec;
+
+    /** 慢消费者统计：丢弃、合并、断开 */
+    @Getter
+    private final SlowConsumerStats slowConsumerStats = new SlowConsumerStats();
+
     private EventLoopGroup bossGroup;
     private EventLoopGroup workerGroup;
     private Channel serverChannel;
@@ -38,32 +59,46 @@ public class WebSocketServer {
         this.config = config;
         this.messageListener = messageListener;
         this.sessionRegistry = new SessionRegistry();
+        this.topicRegistry = new TopicRegistry();
+        this.messageCodec = config.getMessageCodec() != null ? config.getMessageCodec() : new JsonMessageCodec();
     }
 
     /**
      * 启动服务端
      */
     public void start() throws InterruptedException {
-        bossGroup = new NioEventLoopGroup(config.getBossThreads());
-        workerGroup = new NioEventLoopGroup(config.getWorkerThreads());
+        bossGroup = SocketTransport.newEventLoopGroup(config.getTransportType(), config.getBossThreads(), "ws-server-boss");
+        workerGroup = SocketTransport.newEventLoopGroup(config.getTransportType(), config.getWorkerThreads(), "ws-server-worker");
 
         int heartbeatInterval = config.getHeartbeatIntervalSeconds();
 
         ServerBootstrap bootstrap = new ServerBootstrap();
         bootstrap.group(bossGroup, workerGroup)
-                .channel(NioServerSocketChannel.class)
+                .channel(SocketTransport.serverChannelClass(bossGroup))
                 .option(ChannelOption.SO_BACKLOG, 1024)
                 .childOption(ChannelOption.SO_KEEPALIVE, true)
                 .childOption(ChannelOption.TCP_NODELAY, true)
+                .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(
+                        config.getWriteBufferLowWaterMark(), config.getWriteBufferHighWaterMark()))
                 .childHandler(new ChannelInitializer<SocketChannel>() {
                     @Override
                     protected void initChannel(SocketChannel ch) {
                         ChannelPipeline pipeline = ch.pipeline();
 
+                        // 合并 flush，批量推送时多帧只触发一次 write 系统调用
+                        if (config.getFlushConsolidationLimit() > 0) {
+                            pipeline.addLast(new FlushConsolidationHandler(config.getFlushConsolidationLimit(), true));
+                        }
+
                         // HTTP 编解码
                         pipeline.addLast(new HttpServerCodec());
                         pipeline.addLast(new HttpObjectAggregator(config.getMaxFrameSize()));
 
+                        // permessage-deflate 压缩，握手时与客户端协商
+                        if (config.getCompression() != null) {
+                            pipeline.addLast(config.getCompression().newServerHandler());
+                        }
+
                         // WebSocket 协议处理
                         pipeline.addLast(new WebSocketServerProtocolHandler(
                                 config.getPath(), null, true, config.getMaxFrameSize()));
@@ -75,14 +110,19 @@ public class WebSocketServer {
                             pipeline.addLast(new HeartbeatHandler(new DefaultHeartbeatStrategy()));
                         }
 
+                        // 慢消费者保护
+                        pipeline.addLast(new SlowConsumerHandler(config.getSlowConsumerPolicy(), slowConsumerStats));
+
                         // 业务处理
-                        pipeline.addLast(new WebSocketServerHandler(sessionRegistry, messageListener));
+                        pipeline.addLast(new WebSocketServerHandler(
+                                sessionRegistry, topicRegistry, messageCodec, messageListener));
                     }
                 });
 
         ChannelFuture future = bootstrap.bind(config.getPort()).sync();
         serverChannel = future.channel();
-        log.info("WebSocket server started on port {} with path {}", config.getPort(), config.getPath());
+        log.info("WebSocket server started on port {} with path {}, transport: {}", config.getPort(), config.getPath(),
+                SocketTransport.resolve(config.getTransportType()));
     }
 
     /**
@@ -91,6 +131,7 @@ public class WebSocketServer {
     public void stop() {
         log.info("Stopping WebSocket server...");
         sessionRegistry.closeAll();
+        topicRegistry.clear();
         if (serverChannel != null) {
             serverChannel.close();
         }
@@ -104,9 +145,23 @@ public class WebSocketServer {
     }
 
     /**
-     * 广播消息
+     * 按 topic 推送：消息只编码一次（UTF-8 写入池化 ByteBuf），只发送给订阅了该 topic 的活跃会话
+     *
+     * @return 实际发送的会话数
+     */
+    public int publish(String topic, String payload) {
+        Set<SocketSession> subscribers = topicRegistry.getSubscribers(topic);
+        if (subscribers.isEmpty()) {
+            return 0;
+        }
+        String message = messageCodec.encode(SocketMessage.data(topic, payload));
+        return FrameBroadcaster.broadcast(subscribers, topic, message, config.isGroupWritesByEventLoop());
+    }
+
+    /**
+     * 广播消息给全部连接
      */
     public void broadcast(String message) {
-        sessionRegistry.broadcast(message);
+        FrameBroadcaster.broadcast(sessionRegistry.getAllSessions(), message, config.isGroupWritesByEventLoop());
     }
 }
@@ -1,5 +1,8 @@
 package com.vertex.framework.socket.server;
 
+import com.vertex.framework.socket.codec.MessageCodec;
+import com.vertex.framework.socket.codec.PerMessageDeflateConfig;
+import com.vertex.framework.socket.transport.TransportType;
 import lombok.Builder;
 import lombok.Data;
 
@@ -37,4 +40,37 @@ public class WebSocketServerConfig {
     /** 最大连接数，0 表示不限 */
     @Builder.Default
     private int maxConnections = 0;
+
+    /** 消息编解码器，用于解析订阅请求与编码 publish 推送，为 null 时使用 JSON */
+    private MessageCodec messageCodec;
+
+    /** 出站缓冲低水位（字节），缓冲回落到此值以下时连接恢复可写 */
+    @Builder.Default
+    private int writeBufferLowWaterMark = 32 * 1024;
+
+    /** 出站缓冲高水位（字节），超过后连接不可写，推送按 slowConsumerPolicy 处理 */
+    @Builder.Default
+    private int writeBufferHighWaterMark = 64 * 1024;
+
+    /** 连接不可写时的推送处理策略 */
+    @Builder.Default
+    private SlowConsumerPolicy slowConsumerPolicy = SlowConsumerPolicy.CONFLATE;
+
+    /**
+     * 合并 flush 的上限：同一连接在一次 EventLoop 任务批次内的多次 flush 合并为一次系统调用，
+     * 累计达到该次数时立即 flush；0 表示不合并
+     */
+    @Builder.Default
+    private int flushConsolidationLimit = 256;
+
+    /** permessage-deflate 压缩配置，为 null 时不启用 */
+    private PerMessageDeflateConfig compression;
+
+    /** 广播与 publish 是否按 EventLoop 分组写出，每个 EventLoop 只提交一个写任务 */
+    @Builder.Default
+    private boolean groupWritesByEventLoop = true;
+
+    /** 传输层类型 */
+    @Builder.Default
+    private TransportType transportType = TransportType.AUTO;
 }
@@ -1,5 +1,9 @@
 package com.vertex.framework.socket.server;
 
+import com.vertex.framework.socket.codec.JsonMessageCodec;
+import com.vertex.framework.socket.codec.MessageCodec;
+import com.vertex.framework.socket.core.MessageType;
+import com.vertex.framework.socket.core.SocketMessage;
 import com.vertex.framework.socket.core.SocketSession;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
@@ -8,15 +12,28 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * WebSocket 服务端消息处理 Handler
+ * <p>
+ * 客户端发来的 SUBSCRIBE / UNSUBSCRIBE {@link SocketMessage} 由 Handler 直接维护到 {@link TopicRegistry}，
+ * 并回调 {@link ServerMessageListener#onSubscribe} / {@link ServerMessageListener#onUnsubscribe}，
+ * 不再交给 onMessage；其他文本消息原样交给 onMessage。连接断开时清理该会话的全部订阅。
  */
 @Slf4j
 public class WebSocketServerHandler extends SimpleChannelInboundHandler<WebSocketFrame> {
 
     private final SessionRegistry sessionRegistry;
+    private final TopicRegistry topicRegistry;
+    private final MessageCodec messageCodec;
     private final ServerMessageListener messageListener;
 
     public WebSocketServerHandler(SessionRegistry sessionRegistry, ServerMessageListener messageListener) {
+        this(sessionRegistry, new TopicRegistry(), new JsonMessageCodec(), messageListener);
+    }
+
+    public WebSocketServerHandler(SessionRegistry sessionRegistry, TopicRegistry topicRegistry,
+                                  MessageCodec messageCodec, ServerMessageListener messageListener) {
         this.sessionRegistry = sessionRegistry;
+        this.topicRegistry = topicRegistry;
+        this.messageCodec = messageCodec;
         this.messageListener = messageListener;
     }
 
@@ -37,6 +54,7 @@ public class WebSocketServerHandler extends SimpleChannelInboundHandler<WebSocke
         SocketSession session = SocketSession.getFromChannel(ctx.channel());
         if (session != null) {
             sessionRegistry.unregister(session.getId());
+            topicRegistry.removeSession(session);
             if (messageListener != null) {
                 messageListener.onDisconnected(session);
             }
@@ -51,6 +69,9 @@ public class WebSocketServerHandler extends SimpleChannelInboundHandler<WebSocke
         if (frame instanceof TextWebSocketFrame textFrame) {
             String text = textFrame.text();
             log.debug("Received text from {}: {}", session.getId(), text);
+            if (handleSubscription(session, text)) {
+                return;
+            }
             if (messageListener != null) {
                 messageListener.onMessage(session, text);
             }
@@ -74,12 +95,46 @@ public class WebSocketServerHandler extends SimpleChannelInboundHandler<WebSocke
         ctx.close();
     }
 
+    /**
+     * 处理订阅/取消订阅消息
+     *
+     * @return 是否为订阅类消息（已处理）
+     */
+    private boolean handleSubscription(SocketSession session, String text) {
+        if (!messageCodec.supports(text)) {
+            return false;
+        }
+        SocketMessage message = messageCodec.decode(text);
+        if (message == null || message.getTopic() == null) {
+            return false;
+        }
+        if (message.getType() == MessageType.SUBSCRIBE) {
+            if (topicRegistry.subscribe(session, message.getTopic()) && messageListener != null) {
+                messageListener.onSubscribe(session, message.getTopic());
+            }
+            return true;
+        }
+        if (message.getType() == MessageType.UNSUBSCRIBE) {
+            if (topicRegistry.unsubscribe(session, message.getTopic()) && messageListener != null) {
+                messageListener.onUnsubscribe(session, message.getTopic());
+            }
+            return true;
+        }
+        return false;
+    }
+
     /**
      * 服务端消息监听器
      */
     public interface ServerMessageListener {
         void onMessage(SocketSession session, String message);
 
+        /** 会话新订阅了 topic（如可在此推送快照） */
+        default void onSubscribe(SocketSession session, String topic) {}
+
+        /** 会话取消订阅 topic */
+        default void onUnsubscribe(SocketSession session, String topic) {}
+
         default void onConnected(SocketSession session) {}
 
         default void onDisconnected(SocketSession session) {}
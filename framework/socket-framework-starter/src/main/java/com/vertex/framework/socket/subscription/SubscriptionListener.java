@@ -13,4 +13,20 @@ public interface SubscriptionListener {
      * @param payload 数据负载
      */
     void onData(String topic, String payload);
+
+    /**
+     * 收到订阅数据（附带解析阶段已解码的对象）
+     * <p>
+     * 交易所客户端在提取 topic 时若已完整解码报文，会通过 data 传递解码结果，
+     * 监听器可直接使用而无需再次解析 payload。默认忽略 data。
+     * <p>
+     * 覆写本方法的监听器在字节解析路径下 payload 可能为 null；只实现两参数版本的监听器总会收到 payload。
+     *
+     * @param topic   主题
+     * @param payload 数据负载
+     * @param data    已解码的数据，可能为 null
+     */
+    default void onData(String topic, String payload, Object data) {
+        onData(topic, payload);
+    }
 }
@@ -14,6 +14,18 @@ import java.util.concurrent.CopyOnWriteArrayList;
 @Slf4j
 public class SubscriptionManager {
 
+    /** 监听器类型 → 是否只实现了两参数 onData（需要 payload） */
+    private static final ClassValue<Boolean> PAYLOAD_ONLY = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("onData", String.class, String.class, Object.class).isDefault();
+            } catch (NoSuchMethodException e) {
+                return true;
+            }
+        }
+    };
+
     /** topic → 订阅列表 */
     private final Map<String, List<Subscription>> subscriptions = new ConcurrentHashMap<>();
 
@@ -71,6 +83,13 @@ public class SubscriptionManager {
      * 分发消息到对应 topic 的所有订阅者
      */
     public void dispatch(String topic, String payload) {
+        dispatch(topic, payload, null);
+    }
+
+    /**
+     * 分发消息及其已解码的数据到对应 topic 的所有订阅者
+     */
+    public void dispatch(String topic, String payload, Object data) {
         List<Subscription> subs = subscriptions.get(topic);
         if (subs == null || subs.isEmpty()) {
             log.debug("No subscribers for topic: {}", topic);
@@ -80,7 +99,7 @@ public class SubscriptionManager {
         for (Subscription sub : subs) {
             if (sub.isActive() && sub.getListener() != null) {
                 try {
-                    sub.getListener().onData(topic, payload);
+                    sub.getListener().onData(topic, payload, data);
                 } catch (Exception e) {
                     log.error("Error dispatching message to subscriber, topic: {}", topic, e);
                 }
@@ -88,6 +107,26 @@ public class SubscriptionManager {
         }
     }
 
+    /**
+     * topic 是否存在需要原始报文的活跃订阅
+     * <p>
+     * 未覆写三参数 {@link SubscriptionListener#onData(String, String, Object)} 的监听器只能从 payload 取数据；
+     * 交易所客户端在字节解析路径下据此决定是否把帧解码为 payload。
+     */
+    public boolean requiresPayload(String topic) {
+        List<Subscription> subs = subscriptions.get(topic);
+        if (subs == null) {
+            return false;
+        }
+        for (Subscription sub : subs) {
+            SubscriptionListener listener = sub.getListener();
+            if (sub.isActive() && listener != null && PAYLOAD_ONLY.get(listener.getClass())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * 获取所有已订阅的 topic
      */
@@ -95,6 +134,22 @@ public class SubscriptionManager {
         return Collections.unmodifiableSet(subscriptions.keySet());
     }
 
+    /**
+     * 获取 topic 的全部订阅（快照），未订阅时返回空列表
+     */
+    public List<Subscription> getSubscriptions(String topic) {
+        List<Subscription> subs = subscriptions.get(topic);
+        return subs != null ? new ArrayList<>(subs) : Collections.emptyList();
+    }
+
+    /**
+     * 获取 topic 的订阅参数（取首个订阅），未订阅时返回 null
+     */
+    public Map<String, String> getParams(String topic) {
+        List<Subscription> subs = subscriptions.get(topic);
+        return subs != null && !subs.isEmpty() ? subs.get(0).getParams() : null;
+    }
+
     /**
      * 获取指定 topic 的订阅数量
      */
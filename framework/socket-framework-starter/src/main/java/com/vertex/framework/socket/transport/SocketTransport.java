@@ -0,0 +1,133 @@
+package com.vertex.framework.socket.transport;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 传输层选择
+ * <p>
+ * 按 {@link TransportType} 创建 EventLoopGroup，并根据线程组类型给出匹配的 Channel 类型，
+ * Bootstrap 只需持有线程组即可。io_uring 属于 Netty incubator 模块，通过反射加载，
+ * 未引入依赖或内核不支持时回落到 epoll / NIO。
+ */
+@Slf4j
+public final class SocketTransport {
+
+    private static final String IO_URING_PACKAGE = "io.netty.incubator.channel.uring.";
+
+    private SocketTransport() {
+    }
+
+    /**
+     * 解析实际可用的传输层类型
+     */
+    public static TransportType resolve(TransportType preferred) {
+        TransportType type = preferred != null ? preferred : TransportType.AUTO;
+        if (type == TransportType.IO_URING) {
+            if (isIoUringAvailable()) {
+                return TransportType.IO_URING;
+            }
+            TransportType fallback = resolve(TransportType.AUTO);
+            log.warn("io_uring transport is not available, falling back to {}", fallback);
+            return fallback;
+        }
+        if (type == TransportType.EPOLL && !Epoll.isAvailable()) {
+            log.warn("Native epoll transport is not available, falling back to NIO: {}",
+                    String.valueOf(Epoll.unavailabilityCause()));
+            return TransportType.NIO;
+        }
+        if (type == TransportType.AUTO) {
+            return Epoll.isAvailable() ? TransportType.EPOLL : TransportType.NIO;
+        }
+        return type;
+    }
+
+    /**
+     * 创建线程组
+     *
+     * @param preferred  期望的传输层类型，不可用时自动回落
+     * @param threads    线程数，0 表示 CPU 核数
+     * @param poolName   线程名前缀
+     */
+    public static EventLoopGroup newEventLoopGroup(TransportType preferred, int threads, String poolName) {
+        int nThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadFactory threadFactory = new DefaultThreadFactory(poolName, true);
+        return switch (resolve(preferred)) {
+            case EPOLL -> new EpollEventLoopGroup(nThreads, threadFactory);
+            case IO_URING -> newIoUringGroup(nThreads, threadFactory);
+            default -> new NioEventLoopGroup(nThreads, threadFactory);
+        };
+    }
+
+    /**
+     * 与线程组匹配的客户端 Channel 类型
+     */
+    @SuppressWarnings("unchecked")
+    public static Class<? extends SocketChannel> socketChannelClass(EventLoopGroup group) {
+        if (group instanceof EpollEventLoopGroup) {
+            return EpollSocketChannel.class;
+        }
+        if (isIoUringGroup(group)) {
+            return (Class<? extends SocketChannel>) loadIoUringClass("IOUringSocketChannel");
+        }
+        return NioSocketChannel.class;
+    }
+
+    /**
+     * 与线程组匹配的服务端 Channel 类型
+     */
+    @SuppressWarnings("unchecked")
+    public static Class<? extends ServerChannel> serverChannelClass(EventLoopGroup group) {
+        if (group instanceof EpollEventLoopGroup) {
+            return EpollServerSocketChannel.class;
+        }
+        if (isIoUringGroup(group)) {
+            return (Class<? extends ServerChannel>) loadIoUringClass("IOUringServerSocketChannel");
+        }
+        return NioServerSocketChannel.class;
+    }
+
+    // ==================== io_uring（反射） ====================
+
+    private static boolean isIoUringAvailable() {
+        try {
+            return (Boolean) loadIoUringClass("IOUring").getMethod("isAvailable").invoke(null);
+        } catch (Exception | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static boolean isIoUringGroup(EventLoopGroup group) {
+        return group.getClass().getName().equals(IO_URING_PACKAGE + "IOUringEventLoopGroup");
+    }
+
+    private static EventLoopGroup newIoUringGroup(int threads, ThreadFactory threadFactory) {
+        try {
+            return (EventLoopGroup) loadIoUringClass("IOUringEventLoopGroup")
+                    .getConstructor(int.class, ThreadFactory.class)
+                    .newInstance(threads, threadFactory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create io_uring event loop group", e);
+        }
+    }
+
+    private static Class<?> loadIoUringClass(String simpleName) {
+        try {
+            return Class.forName(IO_URING_PACKAGE + simpleName, true, SocketTransport.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("io_uring transport is not on the classpath", e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.vertex.framework.socket.transport;
+
+/**
+ * Netty 传输层类型
+ */
+public enum TransportType {
+
+    /** Linux 上原生 epoll 可用时使用 epoll，否则使用 NIO */
+    AUTO,
+
+    /** JDK NIO，全平台可用 */
+    NIO,
+
+    /** Linux 原生 epoll（边缘触发），不可用时回落到 NIO */
+    EPOLL,
+
+    /** Linux io_uring，需要引入 netty-incubator-transport-native-io_uring，不可用时按 AUTO 处理 */
+    IO_URING
+}
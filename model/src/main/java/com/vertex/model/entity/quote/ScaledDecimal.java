@@ -0,0 +1,103 @@
+package com.vertex.model.entity.quote;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 定标定点数工具
+ * <p>
+ * 以 long 尾数 + 固定 scale 表示十进制数：value = mantissa × 10^-scale。
+ * 空值以 {@link #NULL} 表示。
+ */
+public final class ScaledDecimal {
+
+    /** 空值标记 */
+    public static final long NULL = Long.MIN_VALUE;
+
+    private ScaledDecimal() {
+    }
+
+    /**
+     * 直接从十进制字符串解析尾数，不创建 BigDecimal
+     * <p>
+     * 支持可选符号、整数部分与小数部分；小数位多于 scale 时多出的位必须全为 0，否则抛出 ArithmeticException。
+     * 科学计数法等其他格式回落到 BigDecimal 解析。
+     *
+     * @param text  十进制字符串，null 或空串返回 {@link #NULL}
+     * @param scale 目标 scale
+     */
+    public static long parse(CharSequence text, int scale) {
+        if (text == null || text.isEmpty()) {
+            return NULL;
+        }
+        int length = text.length();
+        int pos = 0;
+        boolean negative = false;
+        char first = text.charAt(0);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            pos++;
+        }
+        long mantissa = 0;
+        int fractionDigits = -1;
+        boolean digits = false;
+        for (; pos < length; pos++) {
+            char c = text.charAt(pos);
+            if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                return fromBigDecimal(new BigDecimal(text.toString()), scale);
+            }
+            digits = true;
+            if (fractionDigits >= 0) {
+                if (fractionDigits == scale) {
+                    if (c != '0') {
+                        throw new ArithmeticException("Rounding necessary: " + text + " at scale " + scale);
+                    }
+                    continue;
+                }
+                fractionDigits++;
+            }
+            mantissa = Math.addExact(Math.multiplyExact(mantissa, 10), c - '0');
+        }
+        if (!digits) {
+            throw new NumberFormatException("Invalid decimal: " + text);
+        }
+        for (int i = Math.max(fractionDigits, 0); i < scale; i++) {
+            mantissa = Math.multiplyExact(mantissa, 10);
+        }
+        return negative ? -mantissa : mantissa;
+    }
+
+    /**
+     * BigDecimal → 尾数，无法在该 scale 下精确表示或尾数溢出时抛出 ArithmeticException
+     */
+    public static long fromBigDecimal(BigDecimal value, int scale) {
+        if (value == null) {
+            return NULL;
+        }
+        return value.setScale(scale, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    /**
+     * 尾数 → BigDecimal
+     */
+    public static BigDecimal toBigDecimal(long mantissa, int scale) {
+        return mantissa == NULL ? null : BigDecimal.valueOf(mantissa, scale);
+    }
+
+    /**
+     * 能精确表示全部取值的最小非负 scale
+     */
+    public static int scaleOf(BigDecimal... values) {
+        int scale = 0;
+        for (BigDecimal value : values) {
+            if (value != null) {
+                scale = Math.max(scale, value.stripTrailingZeros().scale());
+            }
+        }
+        return scale;
+    }
+}
@@ -0,0 +1,220 @@
+package com.vertex.model.entity.quote;
+
+import com.vertex.model.vo.quote.KLineVO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 定点数 K线模型
+ * <p>
+ * 价格与数量以 long 尾数 + 按交易对固定的 scale 存储（见 {@link ScaledDecimal}），
+ * 时间、成交笔数与完结标记使用原始类型，空值以 {@link ScaledDecimal#NULL} / {@link #NULL_TIME} / {@link #NULL_TRADES}
+ * / {@link #NULL_CLOSED} 表示。
+ * 转换、存储、聚合大量 K线时每根只有一个对象，不再为每个字段创建 BigDecimal 与包装类型。
+ * 交易所推送可由 BinanceKLineParser / OkxKLineParser 的 parseScaled 直接解析为本模型。
+ * <p>
+ * 与 {@link KLine} / {@link KLineVO} 互转数值无损（compareTo 相等），BigDecimal 的 scale 统一为该交易对的 scale；
+ * 取值在给定 scale 下无法精确表示或尾数超出 long 范围时抛出 ArithmeticException。
+ * closed 按 true / false / null 三态保留，互转后不变。
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScaledKLine implements Serializable {
+
+    /** 时间戳空值标记 */
+    public static final long NULL_TIME = Long.MIN_VALUE;
+
+    /** 成交笔数空值标记 */
+    public static final int NULL_TRADES = Integer.MIN_VALUE;
+
+    /** 完结标记：已完结 */
+    public static final byte CLOSED = 1;
+
+    /** 完结标记：未完结 */
+    public static final byte NOT_CLOSED = 0;
+
+    /** 完结标记空值 */
+    public static final byte NULL_CLOSED = -1;
+
+    /** 交易对，统一格式如 BTC-USDT */
+    private String symbol;
+
+    /** 交易所来源，如 binance、okx */
+    private String exchange;
+
+    /** K线周期 */
+    private KLineInterval interval;
+
+    /** 开盘时间戳（毫秒） */
+    private long openTime;
+
+    /** 收盘时间戳（毫秒），空值为 {@link #NULL_TIME} */
+    private long closeTime;
+
+    /** 价格（open/high/low/close）的 scale */
+    private int priceScale;
+
+    /** 成交量的 scale */
+    private int volumeScale;
+
+    /** 成交额的 scale */
+    private int quoteVolumeScale;
+
+    /** 开盘价尾数 */
+    private long open;
+
+    /** 最高价尾数 */
+    private long high;
+
+    /** 最低价尾数 */
+    private long low;
+
+    /** 收盘价尾数 */
+    private long close;
+
+    /** 成交量尾数（base asset） */
+    private long volume;
+
+    /** 成交额尾数（quote asset） */
+    private long quoteVolume;
+
+    /** 成交笔数，空值为 {@link #NULL_TRADES} */
+    private int trades;
+
+    /** 此K线是否已完结：{@link #CLOSED} / {@link #NOT_CLOSED}，空值为 {@link #NULL_CLOSED} */
+    private byte closed;
+
+    /**
+     * 是否已完结，空值视为未完结
+     */
+    public boolean isClosed() {
+        return closed == CLOSED;
+    }
+
+    /**
+     * Boolean → 完结标记
+     */
+    public static byte closedOf(Boolean closed) {
+        if (closed == null) {
+            return NULL_CLOSED;
+        }
+        return closed ? CLOSED : NOT_CLOSED;
+    }
+
+    /**
+     * 完结标记 → Boolean，空值为 null
+     */
+    private static Boolean toBoolean(byte closed) {
+        return closed == NULL_CLOSED ? null : closed == CLOSED;
+    }
+
+    // ==================== KLine 互转 ====================
+
+    /**
+     * KLine → ScaledKLine，使用能精确表示各字段的最小 scale
+     */
+    public static ScaledKLine from(KLine kline) {
+        return from(kline,
+                ScaledDecimal.scaleOf(kline.getOpen(), kline.getHigh(), kline.getLow(), kline.getClose()),
+                ScaledDecimal.scaleOf(kline.getVolume()),
+                ScaledDecimal.scaleOf(kline.getQuoteVolume()));
+    }
+
+    /**
+     * KLine → ScaledKLine，使用交易对固定的 scale
+     */
+    public static ScaledKLine from(KLine kline, int priceScale, int volumeScale, int quoteVolumeScale) {
+        return ScaledKLine.builder()
+                .symbol(kline.getSymbol())
+                .exchange(kline.getExchange())
+                .interval(kline.getInterval())
+                .openTime(kline.getOpenTime())
+                .closeTime(kline.getCloseTime() != null ? kline.getCloseTime() : NULL_TIME)
+                .priceScale(priceScale)
+                .volumeScale(volumeScale)
+                .quoteVolumeScale(quoteVolumeScale)
+                .open(ScaledDecimal.fromBigDecimal(kline.getOpen(), priceScale))
+                .high(ScaledDecimal.fromBigDecimal(kline.getHigh(), priceScale))
+                .low(ScaledDecimal.fromBigDecimal(kline.getLow(), priceScale))
+                .close(ScaledDecimal.fromBigDecimal(kline.getClose(), priceScale))
+                .volume(ScaledDecimal.fromBigDecimal(kline.getVolume(), volumeScale))
+                .quoteVolume(ScaledDecimal.fromBigDecimal(kline.getQuoteVolume(), quoteVolumeScale))
+                .trades(kline.getTrades() != null ? kline.getTrades() : NULL_TRADES)
+                .closed(closedOf(kline.getClosed()))
+                .build();
+    }
+
+    /**
+     * ScaledKLine → KLine
+     */
+    public KLine toKLine() {
+        return KLine.builder()
+                .symbol(symbol)
+                .exchange(exchange)
+                .interval(interval)
+                .openTime(openTime)
+                .closeTime(closeTime != NULL_TIME ? closeTime : null)
+                .open(ScaledDecimal.toBigDecimal(open, priceScale))
+                .high(ScaledDecimal.toBigDecimal(high, priceScale))
+                .low(ScaledDecimal.toBigDecimal(low, priceScale))
+                .close(ScaledDecimal.toBigDecimal(close, priceScale))
+                .volume(ScaledDecimal.toBigDecimal(volume, volumeScale))
+                .quoteVolume(ScaledDecimal.toBigDecimal(quoteVolume, quoteVolumeScale))
+                .trades(trades != NULL_TRADES ? trades : null)
+                .closed(toBoolean(closed))
+                .build();
+    }
+
+    // ==================== KLineVO 互转 ====================
+
+    /**
+     * KLineVO → ScaledKLine，使用交易对固定的 scale
+     */
+    public static ScaledKLine from(KLineVO vo, int priceScale, int volumeScale, int quoteVolumeScale) {
+        return ScaledKLine.builder()
+                .symbol(vo.getSymbol())
+                .exchange(vo.getExchange())
+                .interval(vo.getInterval())
+                .openTime(vo.getOpenTime())
+                .closeTime(vo.getCloseTime() != null ? vo.getCloseTime() : NULL_TIME)
+                .priceScale(priceScale)
+                .volumeScale(volumeScale)
+                .quoteVolumeScale(quoteVolumeScale)
+                .open(ScaledDecimal.fromBigDecimal(vo.getOpen(), priceScale))
+                .high(ScaledDecimal.fromBigDecimal(vo.getHigh(), priceScale))
+                .low(ScaledDecimal.fromBigDecimal(vo.getLow(), priceScale))
+                .close(ScaledDecimal.fromBigDecimal(vo.getClose(), priceScale))
+                .volume(ScaledDecimal.fromBigDecimal(vo.getVolume(), volumeScale))
+                .quoteVolume(ScaledDecimal.fromBigDecimal(vo.getQuoteVolume(), quoteVolumeScale))
+                .trades(vo.getTrades() != null ? vo.getTrades() : NULL_TRADES)
+                .closed(closedOf(vo.getClosed()))
+                .build();
+    }
+
+    /**
+     * ScaledKLine → KLineVO
+     */
+    public KLineVO toVO() {
+        return KLineVO.builder()
+                .symbol(symbol)
+                .exchange(exchange)
+                .interval(interval)
+                .openTime(openTime)
+                .closeTime(closeTime != NULL_TIME ? closeTime : null)
+                .open(ScaledDecimal.toBigDecimal(open, priceScale))
+                .high(ScaledDecimal.toBigDecimal(high, priceScale))
+                .low(ScaledDecimal.toBigDecimal(low, priceScale))
+                .close(ScaledDecimal.toBigDecimal(close, priceScale))
+                .volume(ScaledDecimal.toBigDecimal(volume, volumeScale))
+                .quoteVolume(ScaledDecimal.toBigDecimal(quoteVolume, quoteVolumeScale))
+                .trades(trades != NULL_TRADES ? trades : null)
+                .closed(toBoolean(closed))
+                .build();
+    }
+}
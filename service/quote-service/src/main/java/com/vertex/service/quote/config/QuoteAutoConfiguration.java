@@ -1,5 +1,7 @@
 package com.vertex.service.quote.config;
 
+import com.vertex.framework.socket.autoconfigure.SocketAutoConfiguration;
+import com.vertex.framework.socket.codec.PerMessageDeflateConfig;
 import com.vertex.framework.socket.exchange.ExchangeConfig;
 import com.vertex.framework.socket.exchange.ExchangeType;
 import com.vertex.service.quote.converter.BinanceKLineConverter;
@@ -12,10 +14,17 @@ import com.vertex.service.quote.source.rest.KLineRestClient;
 import com.vertex.service.quote.source.rest.OkxRestClient;
 import com.vertex.service.quote.source.ws.BinanceWsDataSource;
 import com.vertex.service.quote.source.ws.OkxWsDataSource;
+import com.vertex.service.quote.store.ConflatingKLineStore;
+import com.vertex.service.quote.store.GroupCommitKLineStore;
+import com.vertex.service.quote.store.KLineColumnFamilies;
 import com.vertex.service.quote.store.KLineStore;
 import com.vertex.service.quote.store.RocksDBKLineStore;
 import com.vertex.service.quote.store.RocksDBManager;
+import com.vertex.service.quote.store.TailCacheKLineStore;
+import io.netty.channel.EventLoopGroup;
 import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -46,13 +55,32 @@ public class QuoteAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean
     public RocksDBManager rocksDBManager(QuoteProperties properties) {
-        return new RocksDBManager(properties.getRocksdb().getDataDir());
+        QuoteProperties.RocksDB rocksdb = properties.getRocksdb();
+        return new RocksDBManager(rocksdb.getDataDir(), RocksDBKLineStore.SERIES_ID_LENGTH, rocksdb.getTuning(),
+                KLineColumnFamilies.byName(KLineColumnFamilies.resolve(rocksdb.getColumnFamilies())));
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public KLineStore klineStore(RocksDBManager rocksDBManager) {
-        return new RocksDBKLineStore(rocksDBManager);
+    public KLineStore klineStore(RocksDBManager rocksDBManager, QuoteProperties properties) {
+        QuoteProperties.RocksDB rocksdb = properties.getRocksdb();
+        KLineStore store = new RocksDBKLineStore(rocksDBManager, rocksdb.getValueFormat(),
+                KLineColumnFamilies.resolve(rocksdb.getColumnFamilies()), rocksdb.getWriteDurability());
+
+        QuoteProperties.RocksDB.GroupCommit groupCommit = rocksdb.getGroupCommit();
+        if (groupCommit.isEnabled()) {
+            store = new GroupCommitKLineStore(store, groupCommit.getQueueCapacity(),
+                    groupCommit.getBatchSize(), groupCommit.getMaxDelayMicros());
+        }
+        QuoteProperties.RocksDB.Conflation conflation = rocksdb.getConflation();
+        if (conflation.isEnabled()) {
+            store = new ConflatingKLineStore(store, conflation.getFlushIntervalMillis());
+        }
+        QuoteProperties.RocksDB.TailCache tailCache = rocksdb.getTailCache();
+        if (tailCache.isEnabled()) {
+            store = new TailCacheKLineStore(store, tailCache.getCapacity());
+        }
+        return store;
     }
 
     // ==================== HTTP 客户端 ====================
@@ -74,7 +102,10 @@ public class QuoteAutoConfiguration {
     public QuoteDataSource binanceWsDataSource(QuoteProperties properties,
                                                List<KLineConverter> converters,
                                                KLineStore klineStore,
-                                               CompositeNotifier notifier) {
+                                               CompositeNotifier notifier,
+                                               List<KLineRestClient> restClients,
+                                               @Qualifier(SocketAutoConfiguration.SOCKET_EVENT_LOOP_GROUP)
+                                               ObjectProvider<EventLoopGroup> eventLoopGroup) {
         KLineConverter converter = findConverter(converters, "binance");
         QuoteProperties.Exchange.ExchangeItem binanceConfig = properties.getExchange().getBinance();
 
@@ -86,9 +117,18 @@ public class QuoteAutoConfiguration {
                 .secretKey(binanceConfig.getSecretKey())
                 .heartbeatIntervalSeconds(20)
                 .autoReconnect(true)
+                .maxTopicsPerMessage(BinanceWsDataSource.MAX_STREAMS_PER_MESSAGE)
+                .maxMessagesPerSecond(BinanceWsDataSource.MAX_MESSAGES_PER_SECOND)
+                .maxTopicsPerConnection(BinanceWsDataSource.MAX_STREAMS_PER_CONNECTION)
+                .connectionCount(binanceConfig.getConnections())
+                .compression(binanceConfig.isCompression() ? PerMessageDeflateConfig.builder().build() : null)
+                .dispatchMode(binanceConfig.getDispatch().getMode())
+                .dispatchLanes(binanceConfig.getDispatch().getLanes())
+                .dispatchQueueCapacity(binanceConfig.getDispatch().getQueueCapacity())
                 .build();
 
-        return new BinanceWsDataSource(exchangeConfig, converter, klineStore, notifier);
+        return new BinanceWsDataSource(exchangeConfig, converter, klineStore, notifier,
+                findRestClient(restClients, "binance"), eventLoopGroup.getIfAvailable());
     }
 
     @Bean
@@ -108,7 +148,10 @@ public class QuoteAutoConfiguration {
     public QuoteDataSource okxWsDataSource(QuoteProperties properties,
                                            List<KLineConverter> converters,
                                            KLineStore klineStore,
-                                           CompositeNotifier notifier) {
+                                           CompositeNotifier notifier,
+                                           List<KLineRestClient> restClients,
+                                           @Qualifier(SocketAutoConfiguration.SOCKET_EVENT_LOOP_GROUP)
+                                           ObjectProvider<EventLoopGroup> eventLoopGroup) {
         KLineConverter converter = findConverter(converters, "okx");
         QuoteProperties.Exchange.ExchangeItem okxConfig = properties.getExchange().getOkx();
 
@@ -121,9 +164,15 @@ public class QuoteAutoConfiguration {
                 .passphrase(okxConfig.getPassphrase())
                 .heartbeatIntervalSeconds(25)
                 .autoReconnect(true)
+                .connectionCount(okxConfig.getConnections())
+                .compression(okxConfig.isCompression() ? PerMessageDeflateConfig.builder().build() : null)
+                .dispatchMode(okxConfig.getDispatch().getMode())
+                .dispatchLanes(okxConfig.getDispatch().getLanes())
+                .dispatchQueueCapacity(okxConfig.getDispatch().getQueueCapacity())
                 .build();
 
-        return new OkxWsDataSource(exchangeConfig, converter, klineStore, notifier);
+        return new OkxWsDataSource(exchangeConfig, converter, klineStore, notifier,
+                findRestClient(restClients, "okx"), eventLoopGroup.getIfAvailable());
     }
 
     @Bean
@@ -138,6 +187,16 @@ public class QuoteAutoConfiguration {
 
     // ==================== 辅助方法 ====================
 
+    /**
+     * 根据交易所标识查找对应的 REST 客户端，用于重连后的缺口回补；未找到时返回 null
+     */
+    private KLineRestClient findRestClient(List<KLineRestClient> restClients, String exchangeCode) {
+        return restClients.stream()
+                .filter(c -> exchangeCode.equals(c.exchangeCode()))
+                .findFirst()
+                .orElse(null);
+    }
+
     /**
      * 根据交易所标识查找对应的转换器
      */
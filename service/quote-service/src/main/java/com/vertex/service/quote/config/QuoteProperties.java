@@ -1,8 +1,17 @@
 package com.vertex.service.quote.config;
 
+import com.vertex.framework.socket.dispatch.DispatchMode;
+import com.vertex.model.entity.quote.KLineInterval;
+import com.vertex.service.quote.store.ColumnFamilyTuning;
+import com.vertex.service.quote.store.RocksDBTuning;
+import com.vertex.service.quote.store.WriteDurability;
+import com.vertex.service.quote.store.codec.KLineValueFormat;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 /**
  * 行情模块配置属性
  * <p>
@@ -13,6 +22,32 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  *   quote:
  *     rocksdb:
  *       data-dir: ./data/rocksdb/quote
+ *       value-format: binary
+ *       write-durability: wal
+ *       tail-cache:
+ *         enabled: true
+ *         capacity: 1000
+ *       conflation:
+ *         enabled: true
+ *         flush-interval-millis: 1000
+ *       group-commit:
+ *         enabled: true
+ *         queue-capacity: 65536
+ *         batch-size: 512
+ *         max-delay-micros: 1000
+ *       tuning:
+ *         block-cache-size: 268435456
+ *         high-pri-pool-ratio: 0.1
+ *         partitioned-filters: false
+ *         max-background-jobs: 4
+ *         compaction-readahead-size: 2097152
+ *         direct-io-for-compaction: false
+ *         rate-limit-bytes-per-sec: 0
+ *       column-families:
+ *         m1:
+ *           retention: 30d
+ *         d1:
+ *           block-cache-size: 67108864
  *     notify:
  *       event:
  *         enabled: true
@@ -22,8 +57,14 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  *     exchange:
  *       binance:
  *         enabled: true
- *         ws-url: wss://stream.binance.com:9443/ws
+ *         ws-url: wss://stream.binance.com:9443/stream
  *         api-url: https://api.binance.com
+ *         connections: 2
+ *         compression: false
+ *         dispatch:
+ *           mode: lanes
+ *           lanes: 4
+ *           queue-capacity: 65536
  *       okx:
  *         enabled: false
  *         ws-url: wss://ws.okx.com:8443/ws/v5/public
@@ -49,6 +90,48 @@ public class QuoteProperties {
     public static class RocksDB {
         /** 数据存储目录 */
         private String dataDir = "./data/rocksdb/quote";
+        /** K线 Value 写入格式：binary（默认）/ json，读取时自动识别，可随时切换 */
+        private KLineValueFormat valueFormat = KLineValueFormat.BINARY;
+        /** 写入持久化级别：wal（默认）/ sync / no_wal */
+        private WriteDurability writeDurability = WriteDurability.WAL;
+        /** 热点尾部缓存配置 */
+        private TailCache tailCache = new TailCache();
+        /** 未收盘 K线合并写入配置 */
+        private Conflation conflation = new Conflation();
+        /** 异步组提交配置 */
+        private GroupCommit groupCommit = new GroupCommit();
+        /** 实例级调优：block cache 总预算、后台任务、compaction I/O 与限速 */
+        private RocksDBTuning tuning = new RocksDBTuning();
+        /** 按周期覆盖 Column Family 调优（写缓冲、压缩风格、block cache、保留时长），未配置项使用默认值 */
+        private Map<KLineInterval, ColumnFamilyTuning> columnFamilies = new EnumMap<>(KLineInterval.class);
+
+        @Data
+        public static class TailCache {
+            /** 是否启用 */
+            private boolean enabled = true;
+            /** 每个序列缓存的最近 K线根数 */
+            private int capacity = 1000;
+        }
+
+        @Data
+        public static class Conflation {
+            /** 是否启用，关闭时每次推送都写入 */
+            private boolean enabled = true;
+            /** 未收盘 K线写入周期（毫秒），收盘 K线不受影响、立即写入 */
+            private long flushIntervalMillis = 1000;
+        }
+
+        @Data
+        public static class GroupCommit {
+            /** 是否启用，关闭时 WebSocket 回调同步写入 RocksDB */
+            private boolean enabled = true;
+            /** 写入队列容量，队列满时写入方阻塞 */
+            private int queueCapacity = 65536;
+            /** 单批最大条数 */
+            private int batchSize = 512;
+            /** 单批最长等待时间（微秒） */
+            private long maxDelayMicros = 1000;
+        }
     }
 
     @Data
@@ -78,7 +161,7 @@ public class QuoteProperties {
         /** 币安配置 */
         private ExchangeItem binance = new ExchangeItem(
                 true,
-                "wss://stream.binance.com:9443/ws",
+                "wss://stream.binance.com:9443/stream",
                 "https://api.binance.com"
         );
         /** OKX 配置 */
@@ -102,6 +185,12 @@ public class QuoteProperties {
             private String secretKey;
             /** Passphrase（OKX 等交易所需要） */
             private String passphrase;
+            /** WebSocket 连接数，topic 按消息速率分布到各连接 */
+            private int connections = 1;
+            /** 是否协商 permessage-deflate 压缩，交易所不支持时回落为不压缩 */
+            private boolean compression = false;
+            /** 订阅消息分发配置 */
+            private Dispatch dispatch = new Dispatch();
 
             public ExchangeItem() {
             }
@@ -112,5 +201,18 @@ public class QuoteProperties {
                 this.apiUrl = apiUrl;
             }
         }
+
+        /**
+         * 订阅消息分发配置：K线转换、存储与通知移出 EventLoop 线程
+         */
+        @Data
+        public static class Dispatch {
+            /** 分发模式：direct / lanes / virtual */
+            private DispatchMode mode = DispatchMode.LANES;
+            /** lanes 模式的通道数 */
+            private int lanes = 4;
+            /** 队列容量（lanes 为每条通道，virtual 为合计），队列满时丢弃 */
+            private int queueCapacity = 65536;
+        }
     }
 }
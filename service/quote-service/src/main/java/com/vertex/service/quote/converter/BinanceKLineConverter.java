@@ -34,29 +34,16 @@ public class BinanceKLineConverter implements KLineConverter {
 
     @Override
     public KLine convert(String symbol, KLineInterval interval, String rawData) {
-        JSONObject json = JSON.parseObject(rawData);
-
-        // WebSocket 推送格式
-        JSONObject k = json.getJSONObject("k");
-        if (k != null) {
-            return KLine.builder()
-                    .symbol(symbol)
-                    .exchange(exchangeCode())
-                    .interval(interval)
-                    .openTime(k.getLong("t"))
-                    .closeTime(k.getLong("T"))
-                    .open(k.getBigDecimal("o"))
-                    .high(k.getBigDecimal("h"))
-                    .low(k.getBigDecimal("l"))
-                    .close(k.getBigDecimal("c"))
-                    .volume(k.getBigDecimal("v"))
-                    .quoteVolume(k.getBigDecimal("q"))
-                    .trades(k.getInteger("n"))
-                    .closed(k.getBoolean("x"))
-                    .build();
+        // WebSocket 推送格式：流式解析
+        KLine kline = BinanceKLineParser.parse(rawData);
+        if (kline != null) {
+            kline.setSymbol(symbol);
+            kline.setInterval(interval);
+            return kline;
         }
 
         // 其他格式尝试直接解析
+        JSONObject json = JSON.parseObject(rawData);
         return KLine.builder()
                 .symbol(symbol)
                 .exchange(exchangeCode())
@@ -78,6 +65,8 @@ public class BinanceKLineConverter implements KLineConverter {
     public List<KLine> convertBatch(String symbol, KLineInterval interval, String rawData) {
         JSONArray array = JSON.parseArray(rawData);
         List<KLine> result = new ArrayList<>(array.size());
+        // REST 返回的最后一根可能尚未收盘：收盘时间已过才视为完结
+        long now = System.currentTimeMillis();
 
         for (int i = 0; i < array.size(); i++) {
             JSONArray item = array.getJSONArray(i);
@@ -97,7 +86,7 @@ public class BinanceKLineConverter implements KLineConverter {
                     .closeTime(item.getLong(6))
                     .quoteVolume(new BigDecimal(item.getString(7)))
                     .trades(item.getInteger(8))
-                    .closed(true)
+                    .closed(item.getLong(6) < now)
                     .build());
         }
         return result;
@@ -0,0 +1,265 @@
+package com.vertex.service.quote.converter;
+
+import com.alibaba.fastjson2.JSONReader;
+import com.alibaba.fastjson2.util.Fnv;
+import com.vertex.model.entity.quote.KLine;
+import com.vertex.model.entity.quote.KLineInterval;
+import com.vertex.model.entity.quote.ScaledDecimal;
+import com.vertex.model.entity.quote.ScaledKLine;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * 币安 kline 推送流式解析器
+ * <p>
+ * 基于 fastjson2 {@link JSONReader} 单次顺序扫描报文，字段名按 FNV 哈希匹配，
+ * 不构建 JSONObject 树，也不为字段名分配字符串；无关字段直接跳过。
+ * 同时支持单流（/ws）推送与组合流（/stream）的 {"stream":...,"data":{...}} 包装。
+ * <p>
+ * 解析结果的 symbol 为币安原始交易对（如 BTCUSDT），由调用方替换为统一格式。
+ * <p>
+ * {@code parseScaled} 将价格与数量直接解析为 {@link ScaledKLine} 的 long 尾数，不为每个字段创建 BigDecimal。
+ */
+public final class BinanceKLineParser {
+
+    private static final long EVENT_TYPE = Fnv.hashCode64("e");
+    private static final long SYMBOL = Fnv.hashCode64("s");
+    private static final long KLINE = Fnv.hashCode64("k");
+    private static final long STREAM_DATA = Fnv.hashCode64("data");
+
+    private static final long OPEN_TIME = Fnv.hashCode64("t");
+    private static final long CLOSE_TIME = Fnv.hashCode64("T");
+    private static final long INTERVAL = Fnv.hashCode64("i");
+    private static final long OPEN = Fnv.hashCode64("o");
+    private static final long HIGH = Fnv.hashCode64("h");
+    private static final long LOW = Fnv.hashCode64("l");
+    private static final long CLOSE = Fnv.hashCode64("c");
+    private static final long VOLUME = Fnv.hashCode64("v");
+    private static final long QUOTE_VOLUME = Fnv.hashCode64("q");
+    private static final long TRADES = Fnv.hashCode64("n");
+    private static final long CLOSED = Fnv.hashCode64("x");
+
+    private static final String KLINE_EVENT = "kline";
+
+    private BinanceKLineParser() {
+    }
+
+    /**
+     * 解析 kline 推送
+     *
+     * @return K线（symbol 为币安原始交易对），非 kline 事件返回 null
+     */
+    public static KLine parse(String frame) {
+        try (JSONReader reader = JSONReader.of(frame)) {
+            return parse(reader);
+        }
+    }
+
+    /**
+     * 直接从 UTF-8 字节解析 kline 推送
+     *
+     * @return K线（symbol 为币安原始交易对），非 kline 事件返回 null
+     */
+    public static KLine parse(byte[] frame, int offset, int length) {
+        try (JSONReader reader = JSONReader.of(frame, offset, length, StandardCharsets.UTF_8)) {
+            return parse(reader);
+        }
+    }
+
+    /**
+     * 解析 kline 推送为定点数 K线
+     *
+     * @param priceScale       价格 scale（币安现货为 8）
+     * @param volumeScale      成交量 scale
+     * @param quoteVolumeScale 成交额 scale
+     * @return K线（symbol 为币安原始交易对），非 kline 事件返回 null
+     * @throws ArithmeticException 取值在给定 scale 下无法精确表示
+     */
+    public static ScaledKLine parseScaled(String frame, int priceScale, int volumeScale, int quoteVolumeScale) {
+        try (JSONReader reader = JSONReader.of(frame)) {
+            return parse(reader, r -> readScaledKLine(r, priceScale, volumeScale, quoteVolumeScale),
+                    BinanceKLineParser::completeScaled);
+        }
+    }
+
+    /**
+     * 直接从 UTF-8 字节解析 kline 推送为定点数 K线
+     *
+     * @see #parseScaled(String, int, int, int)
+     */
+    public static ScaledKLine parseScaled(byte[] frame, int offset, int length,
+                                          int priceScale, int volumeScale, int quoteVolumeScale) {
+        try (JSONReader reader = JSONReader.of(frame, offset, length, StandardCharsets.UTF_8)) {
+            return parse(reader, r -> readScaledKLine(r, priceScale, volumeScale, quoteVolumeScale),
+                    BinanceKLineParser::completeScaled);
+        }
+    }
+
+    /**
+     * 构建币安 topic（即 stream 名）：{symbol 小写}@kline_{interval}
+     */
+    public static String topic(String binanceSymbol, KLineInterval interval) {
+        return binanceSymbol.toLowerCase() + "@kline_" + interval.getCode();
+    }
+
+    private static KLine parse(JSONReader reader) {
+        return parse(reader, BinanceKLineParser::readKLine, BinanceKLineParser::complete);
+    }
+
+    /**
+     * 扫描事件外层，"k" 对象交给 klineReader 读取
+     *
+     * @param complete 补全 symbol，周期缺失时返回 null
+     */
+    private static <T> T parse(JSONReader reader, Function<JSONReader, T> klineReader,
+                               BiFunction<T, String, T> complete) {
+        if (!reader.nextIfObjectStart()) {
+            return null;
+        }
+        T kline = null;
+        String symbol = null;
+        boolean klineEvent = true;
+        while (!reader.nextIfObjectEnd()) {
+            long name = reader.readFieldNameHashCode();
+            if (name == EVENT_TYPE) {
+                klineEvent = KLINE_EVENT.equals(reader.readString());
+            } else if (name == SYMBOL) {
+                symbol = reader.readString();
+            } else if (name == KLINE) {
+                kline = klineReader.apply(reader);
+            } else if (name == STREAM_DATA) {
+                // 组合流包装：{"stream":"btcusdt@kline_1m","data":{...}}，事件在 data 中
+                return unwrap(reader, parse(reader, klineReader, complete));
+            } else {
+                reader.skipValue();
+            }
+        }
+        if (!klineEvent || kline == null) {
+            return null;
+        }
+        return complete.apply(kline, symbol);
+    }
+
+    private static KLine complete(KLine kline, String symbol) {
+        if (kline.getInterval() == null) {
+            return null;
+        }
+        kline.setSymbol(symbol);
+        return kline;
+    }
+
+    private static ScaledKLine completeScaled(ScaledKLine kline, String symbol) {
+        if (kline.getInterval() == null) {
+            return null;
+        }
+        kline.setSymbol(symbol);
+        return kline;
+    }
+
+    /**
+     * 跳过组合流包装中 data 之后的字段
+     */
+    private static <T> T unwrap(JSONReader reader, T kline) {
+        while (!reader.nextIfObjectEnd()) {
+            reader.readFieldNameHashCode();
+            reader.skipValue();
+        }
+        return kline;
+    }
+
+    /**
+     * 读取 "k" 对象
+     */
+    private static KLine readKLine(JSONReader reader) {
+        if (!reader.nextIfObjectStart()) {
+            reader.skipValue();
+            return null;
+        }
+        KLine kline = new KLine();
+        kline.setExchange("binance");
+        while (!reader.nextIfObjectEnd()) {
+            long name = reader.readFieldNameHashCode();
+            if (name == OPEN_TIME) {
+                kline.setOpenTime(reader.readInt64Value());
+            } else if (name == CLOSE_TIME) {
+                kline.setCloseTime(reader.readInt64Value());
+            } else if (name == INTERVAL) {
+                kline.setInterval(KLineInterval.fromCode(reader.readString()));
+            } else if (name == OPEN) {
+                kline.setOpen(reader.readBigDecimal());
+            } else if (name == HIGH) {
+                kline.setHigh(reader.readBigDecimal());
+            } else if (name == LOW) {
+                kline.setLow(reader.readBigDecimal());
+            } else if (name == CLOSE) {
+                kline.setClose(reader.readBigDecimal());
+            } else if (name == VOLUME) {
+                kline.setVolume(reader.readBigDecimal());
+            } else if (name == QUOTE_VOLUME) {
+                kline.setQuoteVolume(reader.readBigDecimal());
+            } else if (name == TRADES) {
+                kline.setTrades((int) reader.readInt64Value());
+            } else if (name == CLOSED) {
+                kline.setClosed(reader.readBoolValue());
+            } else {
+                reader.skipValue();
+            }
+        }
+        return kline;
+    }
+
+    /**
+     * 读取 "k" 对象为定点数 K线，价格与数量按字符串读出后直接转为尾数
+     */
+    private static ScaledKLine readScaledKLine(JSONReader reader, int priceScale, int volumeScale, int quoteVolumeScale) {
+        if (!reader.nextIfObjectStart()) {
+            reader.skipValue();
+            return null;
+        }
+        ScaledKLine kline = new ScaledKLine();
+        kline.setExchange("binance");
+        kline.setCloseTime(ScaledKLine.NULL_TIME);
+        kline.setPriceScale(priceScale);
+        kline.setVolumeScale(volumeScale);
+        kline.setQuoteVolumeScale(quoteVolumeScale);
+        kline.setOpen(ScaledDecimal.NULL);
+        kline.setHigh(ScaledDecimal.NULL);
+        kline.setLow(ScaledDecimal.NULL);
+        kline.setClose(ScaledDecimal.NULL);
+        kline.setVolume(ScaledDecimal.NULL);
+        kline.setQuoteVolume(ScaledDecimal.NULL);
+        kline.setTrades(ScaledKLine.NULL_TRADES);
+        kline.setClosed(ScaledKLine.NULL_CLOSED);
+        while (!reader.nextIfObjectEnd()) {
+            long name = reader.readFieldNameHashCode();
+            if (name == OPEN_TIME) {
+                kline.setOpenTime(reader.readInt64Value());
+            } else if (name == CLOSE_TIME) {
+                kline.setCloseTime(reader.readInt64Value());
+            } else if (name == INTERVAL) {
+                kline.setInterval(KLineInterval.fromCode(reader.readString()));
+            } else if (name == OPEN) {
+                kline.setOpen(ScaledDecimal.parse(reader.readString(), priceScale));
+            } else if (name == HIGH) {
+                kline.setHigh(ScaledDecimal.parse(reader.readString(), priceScale));
+            } else if (name == LOW) {
+                kline.setLow(ScaledDecimal.parse(reader.readString(), priceScale));
+            } else if (name == CLOSE) {
+                kline.setClose(ScaledDecimal.parse(reader.readString(), priceScale));
+            } else if (name == VOLUME) {
+                kline.setVolume(ScaledDecimal.parse(reader.readString(), volumeScale));
+            } else if (name == QUOTE_VOLUME) {
+                kline.setQuoteVolume(ScaledDecimal.parse(reader.readString(), quoteVolumeScale));
+            } else if (name == TRADES) {
+                kline.setTrades((int) reader.readInt64Value());
+            } else if (name == CLOSED) {
+                kline.setClosed(ScaledKLine.closedOf(reader.readBool()));
+            } else {
+                reader.skipValue();
+            }
+        }
+        return kline;
+    }
+}
@@ -0,0 +1,314 @@
+package com.vertex.service.quote.converter;
+
+import com.alibaba.fastjson2.JSONReader;
+import com.alibaba.fastjson2.util.Fnv;
+import com.vertex.model.entity.quote.KLine;
+import com.vertex.model.entity.quote.KLineInterval;
+import com.vertex.model.entity.quote.ScaledDecimal;
+import com.vertex.model.entity.quote.ScaledKLine;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * OKX candle 推送流式解析器
+ * <p>
+ * 基于 fastjson2 {@link JSONReader} 单次顺序扫描报文，同时读出 arg（channel / instId）与 data 数组，
+ * data 中的每一行都会被解析，不构建 JSONObject / JSONArray 树。
+ * <p>
+ * OKX 行格式不含交易对与周期，解析结果中的 K线需由调用方通过 {@link #bind} 补全
+ * symbol、interval 与 closeTime。
+ * <p>
+ * {@code parseScaled} 将价格与数量直接解析为 {@link ScaledKLine} 的 long 尾数，不为每个字段创建 BigDecimal。
+ */
+public final class OkxKLineParser {
+
+    private static final long ARG = Fnv.hashCode64("arg");
+    private static final long DATA = Fnv.hashCode64("data");
+    private static final long CHANNEL = Fnv.hashCode64("channel");
+    private static final long INST_ID = Fnv.hashCode64("instId");
+
+    private static final String CANDLE_CHANNEL_PREFIX = "candle";
+
+    /** 行内字段下标：ts, o, h, l, c, vol, volCcy, volCcyQuote, confirm */
+    private static final int MIN_ROW_FIELDS = 7;
+
+    private OkxKLineParser() {
+    }
+
+    /**
+     * 解析结果
+     *
+     * @param channel 频道，如 candle1m；REST 报文为 null
+     * @param instId  OKX 交易对，如 BTC-USDT；REST 报文为 null
+     * @param candles data 中的全部 K线，保持报文中的顺序
+     */
+    public record Frame(String channel, String instId, List<KLine> candles) {
+
+        /**
+         * 订阅 topic：{channel}:{instId}
+         */
+        public String topic() {
+            return channel + ":" + instId;
+        }
+
+        /**
+         * 补全 symbol、interval 与 closeTime
+         *
+         * @return candles 本身
+         */
+        public List<KLine> bind(String symbol, KLineInterval interval) {
+            return OkxKLineParser.bind(candles, symbol, interval);
+        }
+    }
+
+    /**
+     * 定点数解析结果
+     *
+     * @see Frame
+     */
+    public record ScaledFrame(String channel, String instId, List<ScaledKLine> candles) {
+
+        /**
+         * 订阅 topic：{channel}:{instId}
+         */
+        public String topic() {
+            return channel + ":" + instId;
+        }
+
+        /**
+         * 补全 symbol、interval 与 closeTime
+         *
+         * @return candles 本身
+         */
+        public List<ScaledKLine> bind(String symbol, KLineInterval interval) {
+            for (ScaledKLine kline : candles) {
+                kline.setSymbol(symbol);
+                kline.setInterval(interval);
+                kline.setCloseTime(kline.getOpenTime() + interval.getMillis());
+            }
+            return candles;
+        }
+    }
+
+    /**
+     * 为解析出的 K线补全 symbol、interval 与 closeTime
+     *
+     * @return candles 本身
+     */
+    public static List<KLine> bind(List<KLine> candles, String symbol, KLineInterval interval) {
+        for (KLine kline : candles) {
+            kline.setSymbol(symbol);
+            kline.setInterval(interval);
+            kline.setCloseTime(kline.getOpenTime() + interval.getMillis());
+        }
+        return candles;
+    }
+
+    /**
+     * 解析 candle 推送
+     *
+     * @return 解析结果，非 candle 频道或 data 为空时返回 null
+     */
+    public static Frame parse(String frame) {
+        try (JSONReader reader = JSONReader.of(frame)) {
+            return parse(reader);
+        }
+    }
+
+    /**
+     * 直接从 UTF-8 字节解析 candle 推送
+     *
+     * @return 解析结果，非 candle 频道或 data 为空时返回 null
+     */
+    public static Frame parse(byte[] frame, int offset, int length) {
+        try (JSONReader reader = JSONReader.of(frame, offset, length, StandardCharsets.UTF_8)) {
+            return parse(reader);
+        }
+    }
+
+    /**
+     * 解析 candle 推送为定点数 K线
+     *
+     * @param priceScale       价格 scale
+     * @param volumeScale      成交量（vol）scale
+     * @param quoteVolumeScale 成交额（volCcyQuote）scale
+     * @return 解析结果，非 candle 频道或 data 为空时返回 null
+     * @throws ArithmeticException 取值在给定 scale 下无法精确表示
+     */
+    public static ScaledFrame parseScaled(String frame, int priceScale, int volumeScale, int quoteVolumeScale) {
+        try (JSONReader reader = JSONReader.of(frame)) {
+            return parseScaled(reader, priceScale, volumeScale, quoteVolumeScale);
+        }
+    }
+
+    /**
+     * 直接从 UTF-8 字节解析 candle 推送为定点数 K线
+     *
+     * @see #parseScaled(String, int, int, int)
+     */
+    public static ScaledFrame parseScaled(byte[] frame, int offset, int length,
+                                          int priceScale, int volumeScale, int quoteVolumeScale) {
+        try (JSONReader reader = JSONReader.of(frame, offset, length, StandardCharsets.UTF_8)) {
+            return parseScaled(reader, priceScale, volumeScale, quoteVolumeScale);
+        }
+    }
+
+    /**
+     * 解析 REST 报文 {"code":"0","data":[[...],...]} 或直接的行数组 [[...],...]
+     *
+     * @return data 中的全部 K线（未补全 symbol / interval），无 data 时返回空列表
+     */
+    public static List<KLine> parseRows(String rawData) {
+        try (JSONReader reader = JSONReader.of(rawData)) {
+            if (reader.isArray()) {
+                return readRows(reader, OkxKLineParser::readRow);
+            }
+            Frame frame = parse(reader);
+            return frame != null ? frame.candles() : new ArrayList<>();
+        }
+    }
+
+    private static Frame parse(JSONReader reader) {
+        Scanned<KLine> scanned = scan(reader, OkxKLineParser::readRow);
+        return scanned != null ? new Frame(scanned.channel(), scanned.instId(), scanned.candles()) : null;
+    }
+
+    private static ScaledFrame parseScaled(JSONReader reader, int priceScale, int volumeScale, int quoteVolumeScale) {
+        Scanned<ScaledKLine> scanned = scan(reader,
+                r -> readScaledRow(r, priceScale, volumeScale, quoteVolumeScale));
+        return scanned != null ? new ScaledFrame(scanned.channel(), scanned.instId(), scanned.candles()) : null;
+    }
+
+    /**
+     * 报文外层扫描结果
+     */
+    private record Scanned<T>(String channel, String instId, List<T> candles) {
+    }
+
+    /**
+     * 扫描报文外层，data 中的每一行交给 rowReader 读取
+     */
+    private static <T> Scanned<T> scan(JSONReader reader, Function<JSONReader, T> rowReader) {
+        if (!reader.nextIfObjectStart()) {
+            return null;
+        }
+        String channel = null;
+        String instId = null;
+        List<T> candles = null;
+        while (!reader.nextIfObjectEnd()) {
+            long name = reader.readFieldNameHashCode();
+            if (name == ARG && reader.nextIfObjectStart()) {
+                while (!reader.nextIfObjectEnd()) {
+                    long argName = reader.readFieldNameHashCode();
+                    if (argName == CHANNEL) {
+                        channel = reader.readString();
+                    } else if (argName == INST_ID) {
+                        instId = reader.readString();
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+            } else if (name == DATA) {
+                candles = readRows(reader, rowReader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        if (candles == null || candles.isEmpty()) {
+            return null;
+        }
+        // 推送报文只接受 candle 开头的频道；REST 报文没有 arg
+        if (channel != null && !channel.startsWith(CANDLE_CHANNEL_PREFIX)) {
+            return null;
+        }
+        return new Scanned<>(channel, instId, candles);
+    }
+
+    /**
+     * 读取 data 数组，字段不足的行被跳过
+     */
+    private static <T> List<T> readRows(JSONReader reader, Function<JSONReader, T> rowReader) {
+        if (!reader.nextIfArrayStart()) {
+            reader.skipValue();
+            return new ArrayList<>();
+        }
+        List<T> candles = new ArrayList<>(1);
+        while (!reader.nextIfArrayEnd()) {
+            T kline = rowReader.apply(reader);
+            if (kline != null) {
+                candles.add(kline);
+            }
+        }
+        return candles;
+    }
+
+    /**
+     * 读取一行 ["ts","o","h","l","c","vol","volCcy","volCcyQuote","confirm"]
+     */
+    private static KLine readRow(JSONReader reader) {
+        if (!reader.nextIfArrayStart()) {
+            reader.skipValue();
+            return null;
+        }
+        KLine kline = new KLine();
+        kline.setExchange("okx");
+        // 与原转换器一致：缺少成交额时为 0，缺少 confirm 时视为已完结
+        kline.setQuoteVolume(BigDecimal.ZERO);
+        kline.setClosed(Boolean.TRUE);
+        int index = 0;
+        while (!reader.nextIfArrayEnd()) {
+            switch (index++) {
+                case 0 -> kline.setOpenTime(reader.readInt64Value());
+                case 1 -> kline.setOpen(reader.readBigDecimal());
+                case 2 -> kline.setHigh(reader.readBigDecimal());
+                case 3 -> kline.setLow(reader.readBigDecimal());
+                case 4 -> kline.setClose(reader.readBigDecimal());
+                case 5 -> kline.setVolume(reader.readBigDecimal());
+                case 7 -> kline.setQuoteVolume(reader.readBigDecimal());
+                // OKX confirm 字段: "1" 表示已完结
+                case 8 -> kline.setClosed("1".equals(reader.readString()));
+                default -> reader.skipValue();
+            }
+        }
+        return index < MIN_ROW_FIELDS ? null : kline;
+    }
+
+    /**
+     * 读取一行为定点数 K线，价格与数量按字符串读出后直接转为尾数
+     */
+    private static ScaledKLine readScaledRow(JSONReader reader, int priceScale, int volumeScale, int quoteVolumeScale) {
+        if (!reader.nextIfArrayStart()) {
+            reader.skipValue();
+            return null;
+        }
+        ScaledKLine kline = new ScaledKLine();
+        kline.setExchange("okx");
+        kline.setCloseTime(ScaledKLine.NULL_TIME);
+        kline.setPriceScale(priceScale);
+        kline.setVolumeScale(volumeScale);
+        kline.setQuoteVolumeScale(quoteVolumeScale);
+        kline.setTrades(ScaledKLine.NULL_TRADES);
+        // 与 readRow 一致：缺少成交额时为 0，缺少 confirm 时视为已完结
+        kline.setQuoteVolume(0);
+        kline.setClosed(ScaledKLine.CLOSED);
+        int index = 0;
+        while (!reader.nextIfArrayEnd()) {
+            switch (index++) {
+                case 0 -> kline.setOpenTime(reader.readInt64Value());
+                case 1 -> kline.setOpen(ScaledDecimal.parse(reader.readString(), priceScale));
+                case 2 -> kline.setHigh(ScaledDecimal.parse(reader.readString(), priceScale));
+                case 3 -> kline.setLow(ScaledDecimal.parse(reader.readString(), priceScale));
+                case 4 -> kline.setClose(ScaledDecimal.parse(reader.readString(), priceScale));
+                case 5 -> kline.setVolume(ScaledDecimal.parse(reader.readString(), volumeScale));
+                case 7 -> kline.setQuoteVolume(ScaledDecimal.parse(reader.readString(), quoteVolumeScale));
+                case 8 -> kline.setClosed("1".equals(reader.readString()) ? ScaledKLine.CLOSED : ScaledKLine.NOT_CLOSED);
+                default -> reader.skipValue();
+            }
+        }
+        return index < MIN_ROW_FIELDS ? null : kline;
+    }
+}
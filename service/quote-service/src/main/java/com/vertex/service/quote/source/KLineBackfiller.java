@@ -0,0 +1,131 @@
+package com.vertex.service.quote.source;
+
+import com.vertex.model.entity.quote.KLine;
+import com.vertex.model.entity.quote.KLineInterval;
+import com.vertex.service.quote.notify.CompositeNotifier;
+import com.vertex.service.quote.source.rest.KLineRestClient;
+import com.vertex.service.quote.store.KLineStore;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 断线缺口回补
+ * <p>
+ * WebSocket 重连后，比较存储中最新一根 K线与重连时刻：若最新 K线在重连前已经结束，
+ * 说明断线期间有推送丢失，通过对应交易所的 {@link KLineRestClient} 拉取
+ * [最新 K线开盘时间, 重连时刻前最后一根已收盘 K线] 区间的数据，写入存储并通知下游。
+ * 最新一根也会被重新拉取，覆盖断线前未收盘的版本；重连时刻所在、尚未收盘的那一根不回补，
+ * 由实时推送更新，避免以收盘状态写入未完成的数据。
+ * <p>
+ * REST 请求在独立的单线程上顺序执行，不占用 EventLoop 与订阅分发线程。
+ */
+@Slf4j
+public class KLineBackfiller {
+
+    /** 单次请求的 K线数，取各交易所上限中的最小值（OKX 为 300） */
+    private static final int PAGE_SIZE = 300;
+
+    /** 单个序列最多回补的 K线数，断线过久时只补最近的部分 */
+    private static final int MAX_CANDLES = 1500;
+
+    private final KLineRestClient restClient;
+    private final KLineStore klineStore;
+    private final CompositeNotifier notifier;
+
+    /** 回补线程，首次提交任务时创建，shutdown 后可再次创建 */
+    private ExecutorService executor;
+
+    private final LongAdder backfilled = new LongAdder();
+
+    public KLineBackfiller(KLineRestClient restClient, KLineStore klineStore, CompositeNotifier notifier) {
+        this.restClient = restClient;
+        this.klineStore = klineStore;
+        this.notifier = notifier;
+    }
+
+    /**
+     * 提交回补任务
+     *
+     * @param reconnectTime 重连时刻（毫秒）
+     */
+    public synchronized void backfillAsync(String symbol, KLineInterval interval, long reconnectTime) {
+        if (executor == null) {
+            String name = restClient.exchangeCode() + "-backfill";
+            executor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        executor.execute(() -> {
+            try {
+                backfill(symbol, interval, reconnectTime);
+            } catch (Exception e) {
+                log.error("[{}] Backfill failed for {}:{}", restClient.exchangeCode(), symbol, interval.getCode(), e);
+            }
+        });
+    }
+
+    /**
+     * 同步回补一个序列的断线缺口
+     *
+     * @param reconnectTime 重连时刻（毫秒）
+     * @return 写入的 K线数
+     */
+    public int backfill(String symbol, KLineInterval interval, long reconnectTime) {
+        String exchange = restClient.exchangeCode();
+        KLine latest = klineStore.getLatest(exchange, symbol, interval);
+        long step = interval.getMillis();
+        // 没有历史数据时无从判断缺口；最新 K线尚未结束时由实时推送继续更新
+        if (latest == null || latest.getOpenTime() + step > reconnectTime) {
+            return 0;
+        }
+
+        // 重连时刻所在的 K线尚未收盘，只回补到它的前一根
+        long lastClosedOpenTime = Math.floorDiv(reconnectTime, step) * step - step;
+        long start = latest.getOpenTime();
+        long earliest = lastClosedOpenTime - (long) (MAX_CANDLES - 1) * step;
+        if (start < earliest) {
+            log.warn("[{}] Gap for {}:{} exceeds {} candles, backfilling the most recent part only",
+                    exchange, symbol, interval.getCode(), MAX_CANDLES);
+            start = earliest;
+        }
+
+        int total = 0;
+        // 按 PAGE_SIZE 根划分时间窗口逐段请求，两端均为闭区间
+        while (start <= lastClosedOpenTime) {
+            long end = Math.min(start + (long) (PAGE_SIZE - 1) * step, lastClosedOpenTime);
+            List<KLine> klines = restClient.fetchKLines(symbol, interval, start, end, PAGE_SIZE);
+            if (!klines.isEmpty()) {
+                klineStore.saveBatch(klines);
+                notifier.notifyKLineBatch(klines);
+                total += klines.size();
+            }
+            start = end + step;
+        }
+        backfilled.add(total);
+        log.info("[{}] Backfilled {} candles for {}:{} after reconnect", exchange, total, symbol, interval.getCode());
+        return total;
+    }
+
+    /**
+     * 累计回补的 K线数
+     */
+    public long getBackfilledCount() {
+        return backfilled.sum();
+    }
+
+    /**
+     * 停止回补线程，未执行的任务被丢弃
+     */
+    public synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+}
@@ -11,6 +11,7 @@ import okhttp3.Response;
 import okhttp3.ResponseBody;
 
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -57,7 +58,10 @@ public class OkxRestClient implements KLineRestClient {
                 }
 
                 String rawData = body.string();
-                return klineConverter.convertBatch(symbol, interval, rawData);
+                // OKX 按时间倒序返回，按接口约定转为升序
+                List<KLine> klines = klineConverter.convertBatch(symbol, interval, rawData);
+                klines.sort(Comparator.comparingLong(KLine::getOpenTime));
+                return klines;
             }
         } catch (Exception e) {
             log.error("[OKX REST] Failed to fetch KLines for {}:{}", symbol, interval.getCode(), e);
@@ -80,12 +84,12 @@ public class OkxRestClient implements KLineRestClient {
                 .append("&bar=").append(bar)
                 .append("&limit=").append(Math.min(limit, 300));  // OKX 最大 300
 
-        // OKX 使用 before/after（时间戳ms），方向与 Binance 相反
+        // OKX 分页参数均为开区间：after 返回早于该时间戳的数据，before 返回晚于该时间戳的数据
         if (endTime != null) {
-            sb.append("&before=").append(endTime);
+            sb.append("&after=").append(endTime + 1);
         }
         if (startTime != null) {
-            sb.append("&after=").append(startTime);
+            sb.append("&before=").append(startTime - 1);
         }
         return sb.toString();
     }
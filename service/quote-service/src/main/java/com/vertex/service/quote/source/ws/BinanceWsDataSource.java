@@ -1,34 +1,62 @@
 package com.vertex.service.quote.source.ws;
 
-import com.alibaba.fastjson2.JSON;
 import com.alibaba.fastjson2.JSONObject;
+import com.vertex.framework.socket.codec.FrameBytes;
 import com.vertex.framework.socket.exchange.ExchangeConfig;
 import com.vertex.framework.socket.exchange.ExchangeType;
 import com.vertex.framework.socket.exchange.ExchangeWebSocketClient;
+import com.vertex.framework.socket.exchange.ShardedExchangeClient;
 import com.vertex.framework.socket.heartbeat.DefaultHeartbeatStrategy;
 import com.vertex.framework.socket.heartbeat.HeartbeatStrategy;
+import com.vertex.framework.socket.subscription.SubscriptionListener;
 import com.vertex.model.entity.quote.KLine;
 import com.vertex.model.entity.quote.KLineInterval;
+import com.vertex.service.quote.converter.BinanceKLineParser;
 import com.vertex.service.quote.converter.KLineConverter;
 import com.vertex.service.quote.notify.CompositeNotifier;
+import com.vertex.service.quote.source.KLineBackfiller;
 import com.vertex.service.quote.source.QuoteDataSource;
+import com.vertex.service.quote.source.rest.KLineRestClient;
 import com.vertex.service.quote.store.KLineStore;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.EventLoopGroup;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 币安 WebSocket 数据源
  * <p>
- * 通过继承 ExchangeWebSocketClient 接入币安 WebSocket，
+ * 通过组合流端点（/stream）接入币安 WebSocket，
  * 订阅 K线数据后自动完成：转换 → 存储 → 通知 全流程。
  * <p>
- * 币安 WS 订阅格式：
- * {"method":"SUBSCRIBE","params":["btcusdt@kline_1m"],"id":1}
+ * 币安 WS 订阅格式（多个 stream 合并为一条消息）：
+ * {"method":"SUBSCRIBE","params":["btcusdt@kline_1m","ethusdt@kline_1m"],"id":1}
+ * <p>
+ * 订阅请求按币安限制批量发送（每连接每秒 5 条入站消息，含 ping/pong），
+ * 单连接 stream 数达到上限时由 {@link ShardedExchangeClient} 自动创建新连接。
+ * <p>
+ * 断线重连后订阅自动恢复，并通过 {@link KLineBackfiller} 按 REST 接口回补断线期间的 K线。
  */
 @Slf4j
-public class BinanceWsDataSource extends ExchangeWebSocketClient implements QuoteDataSource {
+public class BinanceWsDataSource implements QuoteDataSource {
+
+    /** 单条订阅消息携带的 stream 数 */
+    public static final int MAX_STREAMS_PER_MESSAGE = 200;
+
+    /** 每秒发送的订阅消息数，为心跳 ping/pong 预留余量 */
+    public static final int MAX_MESSAGES_PER_SECOND = 4;
+
+    /** 单连接最多订阅的 stream 数 */
+    public static final int MAX_STREAMS_PER_CONNECTION = 1024;
+
+    /** 订阅请求 id，同一进程内唯一 */
+    private static final AtomicLong REQUEST_ID = new AtomicLong();
 
     private final KLineConverter klineConverter;
     private final KLineStore klineStore;
@@ -39,16 +67,45 @@ public class BinanceWsDataSource extends ExchangeWebSocketClient implements Quot
     /** 记录已订阅的主题及其统一 symbol 映射 */
     private final Map<String, String> topicSymbolMap = new ConcurrentHashMap<>();
 
+    /** 分片连接 */
+    @Getter
+    private final ShardedExchangeClient client;
+
+    /** 重连后的缺口回补，未配置 REST 客户端时为 null */
+    private final KLineBackfiller backfiller;
+
     private volatile boolean connected = false;
 
     public BinanceWsDataSource(ExchangeConfig config,
                                KLineConverter klineConverter,
                                KLineStore klineStore,
                                CompositeNotifier notifier) {
-        super(config);
+        this(config, klineConverter, klineStore, notifier, null);
+    }
+
+    public BinanceWsDataSource(ExchangeConfig config,
+                               KLineConverter klineConverter,
+                               KLineStore klineStore,
+                               CompositeNotifier notifier,
+                               KLineRestClient restClient) {
+        this(config, klineConverter, klineStore, notifier, restClient, null);
+    }
+
+    /**
+     * @param restClient     重连后回补缺口使用的 REST 客户端，可为 null
+     * @param eventLoopGroup 共享的 EventLoopGroup，可为 null（由分片客户端自建）
+     */
+    public BinanceWsDataSource(ExchangeConfig config,
+                               KLineConverter klineConverter,
+                               KLineStore klineStore,
+                               CompositeNotifier notifier,
+                               KLineRestClient restClient,
+                               EventLoopGroup eventLoopGroup) {
         this.klineConverter = klineConverter;
         this.klineStore = klineStore;
         this.notifier = notifier;
+        this.backfiller = restClient != null ? new KLineBackfiller(restClient, klineStore, notifier) : null;
+        this.client = new ShardedExchangeClient(config, shard -> new BinanceStreamClient(config, shard), eventLoopGroup);
     }
 
     @Override
@@ -59,7 +116,7 @@ public class BinanceWsDataSource extends ExchangeWebSocketClient implements Quot
     @Override
     public void start() {
         try {
-            connect();
+            client.connect();
         } catch (Exception e) {
             log.error("[Binance] Failed to start WebSocket data source", e);
             throw new RuntimeException("Failed to connect to Binance WebSocket", e);
@@ -68,7 +125,10 @@ public class BinanceWsDataSource extends ExchangeWebSocketClient implements Quot
 
     @Override
     public void stop() {
-        disconnect();
+        client.disconnect();
+        if (backfiller != null) {
+            backfiller.shutdown();
+        }
         topicIntervalMap.clear();
         topicSymbolMap.clear();
         connected = false;
@@ -81,17 +141,12 @@ public class BinanceWsDataSource extends ExchangeWebSocketClient implements Quot
         topicSymbolMap.put(topic, symbol);
 
         // 注册订阅监听，回调中完成转换→存储→通知
-        super.subscribe(topic, (t, payload) -> {
-            try {
-                KLine kline = klineConverter.convert(symbol, interval, payload);
-                if (kline != null) {
-                    klineStore.save(kline);
-                    notifier.notifyKLine(kline);
-                }
-            } catch (Exception e) {
-                log.error("[Binance] Error processing KLine for {}:{}", symbol, interval.getCode(), e);
-            }
-        });
+        try {
+            client.subscribe(topic, new KLineListener(symbol, interval));
+        } catch (Exception e) {
+            log.error("[Binance] Failed to subscribe {}", topic, e);
+            throw new RuntimeException("Failed to subscribe Binance stream " + topic, e);
+        }
     }
 
     @Override
@@ -99,7 +154,7 @@ public class BinanceWsDataSource extends ExchangeWebSocketClient implements Quot
         String topic = buildTopic(symbol, interval);
         topicIntervalMap.remove(topic);
         topicSymbolMap.remove(topic);
-        super.unsubscribe(topic);
+        client.unsubscribe(topic);
     }
 
     @Override
@@ -107,67 +162,161 @@ public class BinanceWsDataSource extends ExchangeWebSocketClient implements Quot
         return connected;
     }
 
-    // ==================== ExchangeWebSocketClient 模板方法 ====================
+    // ==================== 辅助方法 ====================
 
-    @Override
-    protected String buildSubscribeMessage(String topic, Map<String, String> params) {
-        JSONObject msg = new JSONObject();
-        msg.put("method", "SUBSCRIBE");
-        msg.put("params", new String[]{topic});
-        msg.put("id", System.currentTimeMillis());
-        return msg.toJSONString();
-    }
+    /**
+     * 单个组合流连接（分片）
+     */
+    private class BinanceStreamClient extends ExchangeWebSocketClient {
 
-    @Override
-    protected String buildUnsubscribeMessage(String topic) {
-        JSONObject msg = new JSONObject();
-        msg.put("method", "UNSUBSCRIBE");
-        msg.put("params", new String[]{topic});
-        msg.put("id", System.currentTimeMillis());
-        return msg.toJSONString();
-    }
+        private final int shard;
 
-    @Override
-    protected ParsedMessage parseMessage(String rawMessage) {
-        try {
-            JSONObject json = JSON.parseObject(rawMessage);
-            // 币安 kline 推送格式: {"e":"kline","s":"BTCUSDT","k":{...}}
-            String eventType = json.getString("e");
-            if ("kline".equals(eventType)) {
-                JSONObject k = json.getJSONObject("k");
-                if (k != null) {
-                    String binanceSymbol = json.getString("s").toLowerCase();
-                    String interval = k.getString("i");
-                    String topic = binanceSymbol + "@kline_" + interval;
-                    return new ParsedMessage(topic, rawMessage);
-                }
+        BinanceStreamClient(ExchangeConfig config, int shard) {
+            super(config);
+            this.shard = shard;
+        }
+
+        @Override
+        protected String buildSubscribeMessage(String topic, Map<String, String> params) {
+            return buildSubscribeMessage(List.of(topic));
+        }
+
+        @Override
+        protected String buildUnsubscribeMessage(String topic) {
+            return buildUnsubscribeMessage(List.of(topic));
+        }
+
+        @Override
+        protected String buildSubscribeMessage(List<String> topics) {
+            return buildRequest("SUBSCRIBE", topics);
+        }
+
+        @Override
+        protected String buildUnsubscribeMessage(List<String> topics) {
+            return buildRequest("UNSUBSCRIBE", topics);
+        }
+
+        @Override
+        protected ParsedMessage parseMessage(String rawMessage) {
+            try {
+                // 组合流推送格式: {"stream":"btcusdt@kline_1m","data":{"e":"kline","s":"BTCUSDT","k":{...}}}
+                // 单次流式解析同时得到 topic 与 K线，监听器直接使用解析结果
+                return toParsedMessage(BinanceKLineParser.parse(rawMessage), rawMessage);
+            } catch (Exception e) {
+                log.debug("[Binance] Unrecognized message format: {}", rawMessage);
             }
-        } catch (Exception e) {
-            log.debug("[Binance] Unrecognized message format: {}", rawMessage);
+            return null;
+        }
+
+        @Override
+        protected ParsedMessage parseMessage(ByteBuf content) {
+            try {
+                // 直接解析帧的 UTF-8 字节，不构造 String
+                return toParsedMessage(FrameBytes.parse(content, BinanceKLineParser::parse), null);
+            } catch (Exception e) {
+                log.debug("[Binance] Unrecognized message format: {}", FrameBytes.toString(content));
+            }
+            return null;
+        }
+
+        @Override
+        protected HeartbeatStrategy createHeartbeatStrategy() {
+            return new DefaultHeartbeatStrategy();
+        }
+
+        @Override
+        protected void onConnected() {
+            super.onConnected();
+            connected = true;
+            log.info("[Binance] WebSocket shard #{} connected", shard);
+        }
+
+        @Override
+        protected void onConnectionLost() {
+            super.onConnectionLost();
+            connected = client.isConnected();
+            log.warn("[Binance] WebSocket shard #{} connection lost", shard);
+        }
+
+        @Override
+        protected void onReconnected() {
+            super.onReconnected();
+            connected = true;
+            backfill(getSubscriptionManager().getSubscribedTopics(), System.currentTimeMillis());
         }
-        return null;
     }
 
-    @Override
-    protected HeartbeatStrategy createHeartbeatStrategy() {
-        return new DefaultHeartbeatStrategy();
+    /**
+     * 回补断线期间缺失的 K线
+     */
+    private void backfill(Set<String> topics, long reconnectTime) {
+        if (backfiller == null) {
+            return;
+        }
+        for (String topic : topics) {
+            String symbol = topicSymbolMap.get(topic);
+            KLineInterval interval = topicIntervalMap.get(topic);
+            if (symbol != null && interval != null) {
+                backfiller.backfillAsync(symbol, interval, reconnectTime);
+            }
+        }
     }
 
-    @Override
-    protected void onConnected() {
-        super.onConnected();
-        connected = true;
-        log.info("[Binance] WebSocket data source connected");
+    private static String buildRequest(String method, List<String> topics) {
+        JSONObject msg = new JSONObject();
+        msg.put("method", method);
+        msg.put("params", topics);
+        msg.put("id", REQUEST_ID.incrementAndGet());
+        return msg.toJSONString();
     }
 
-    @Override
-    protected void onConnectionLost() {
-        super.onConnectionLost();
-        connected = false;
-        log.warn("[Binance] WebSocket data source connection lost");
+    private static ExchangeWebSocketClient.ParsedMessage toParsedMessage(KLine kline, String rawMessage) {
+        if (kline == null || kline.getSymbol() == null) {
+            return null;
+        }
+        String topic = BinanceKLineParser.topic(kline.getSymbol(), kline.getInterval());
+        // 未收盘的中间更新可在分发积压时合并，收盘 K线必须送达
+        return new ExchangeWebSocketClient.ParsedMessage(topic, rawMessage, kline,
+                !Boolean.TRUE.equals(kline.getClosed()));
     }
 
-    // ==================== 辅助方法 ====================
+    /**
+     * K线订阅监听：优先使用 parseMessage 阶段的解析结果，缺失时回落到转换器解析 payload
+     */
+    private class KLineListener implements SubscriptionListener {
+
+        private final String symbol;
+        private final KLineInterval interval;
+
+        KLineListener(String symbol, KLineInterval interval) {
+            this.symbol = symbol;
+            this.interval = interval;
+        }
+
+        @Override
+        public void onData(String topic, String payload) {
+            onData(topic, payload, null);
+        }
+
+        @Override
+        public void onData(String topic, String payload, Object data) {
+            try {
+                KLine kline;
+                if (data instanceof KLine parsed) {
+                    parsed.setSymbol(symbol);
+                    kline = parsed;
+                } else {
+                    kline = klineConverter.convert(symbol, interval, payload);
+                }
+                if (kline != null) {
+                    klineStore.save(kline);
+                    notifier.notifyKLine(kline);
+                }
+            } catch (Exception e) {
+                log.error("[Binance] Error processing KLine for {}:{}", symbol, interval.getCode(), e);
+            }
+        }
+    }
 
     /**
      * 构建币安 WebSocket 订阅 topic
@@ -185,10 +334,13 @@ public class BinanceWsDataSource extends ExchangeWebSocketClient implements Quot
     public static ExchangeConfig defaultConfig() {
         return ExchangeConfig.builder()
                 .exchangeType(ExchangeType.BINANCE)
-                .wsUrl("wss://stream.binance.com:9443/ws")
+                .wsUrl("wss://stream.binance.com:9443/stream")
                 .apiUrl("https://api.binance.com")
                 .heartbeatIntervalSeconds(20)
                 .autoReconnect(true)
+                .maxTopicsPerMessage(MAX_STREAMS_PER_MESSAGE)
+                .maxMessagesPerSecond(MAX_MESSAGES_PER_SECOND)
+                .maxTopicsPerConnection(MAX_STREAMS_PER_CONNECTION)
                 .build();
     }
 }
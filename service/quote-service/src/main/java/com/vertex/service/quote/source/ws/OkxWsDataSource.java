@@ -1,36 +1,47 @@
 package com.vertex.service.quote.source.ws;
 
-import com.alibaba.fastjson2.JSON;
-import com.alibaba.fastjson2.JSONArray;
 import com.alibaba.fastjson2.JSONObject;
+import com.vertex.framework.socket.codec.FrameBytes;
 import com.vertex.framework.socket.exchange.ExchangeConfig;
 import com.vertex.framework.socket.exchange.ExchangeType;
 import com.vertex.framework.socket.exchange.ExchangeWebSocketClient;
+import com.vertex.framework.socket.exchange.ShardedExchangeClient;
 import com.vertex.framework.socket.heartbeat.HeartbeatStrategy;
+import com.vertex.framework.socket.subscription.SubscriptionListener;
 import com.vertex.model.entity.quote.KLine;
 import com.vertex.model.entity.quote.KLineInterval;
 import com.vertex.service.quote.converter.KLineConverter;
+import com.vertex.service.quote.converter.OkxKLineParser;
 import com.vertex.service.quote.notify.CompositeNotifier;
+import com.vertex.service.quote.source.KLineBackfiller;
 import com.vertex.service.quote.source.QuoteDataSource;
+import com.vertex.service.quote.source.rest.KLineRestClient;
 import com.vertex.service.quote.store.KLineStore;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
+import io.netty.channel.EventLoopGroup;
 import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * OKX WebSocket 数据源
  * <p>
- * 通过继承 ExchangeWebSocketClient 接入 OKX WebSocket，
+ * 通过 {@link ShardedExchangeClient} 接入 OKX WebSocket，topic 按消息速率分布到 connectionCount 个连接，
  * 订阅 K线数据后自动完成：转换 → 存储 → 通知 全流程。
  * <p>
- * OKX WS 订阅格式：
+ * OKX WS 订阅格式（args 可携带多个频道）：
  * {"op":"subscribe","args":[{"channel":"candle1m","instId":"BTC-USDT"}]}
+ * <p>
+ * 断线重连后订阅自动恢复，并通过 {@link KLineBackfiller} 按 REST 接口回补断线期间的 K线。
  */
 @Slf4j
-public class OkxWsDataSource extends ExchangeWebSocketClient implements QuoteDataSource {
+public class OkxWsDataSource implements QuoteDataSource {
 
     private final KLineConverter klineConverter;
     private final KLineStore klineStore;
@@ -41,16 +52,45 @@ public class OkxWsDataSource extends ExchangeWebSocketClient implements QuoteDat
     /** 记录已订阅的主题及其统一 symbol 映射 */
     private final Map<String, String> topicSymbolMap = new ConcurrentHashMap<>();
 
+    /** 分片连接 */
+    @Getter
+    private final ShardedExchangeClient client;
+
+    /** 重连后的缺口回补，未配置 REST 客户端时为 null */
+    private final KLineBackfiller backfiller;
+
     private volatile boolean connected = false;
 
     public OkxWsDataSource(ExchangeConfig config,
                            KLineConverter klineConverter,
                            KLineStore klineStore,
                            CompositeNotifier notifier) {
-        super(config);
+        this(config, klineConverter, klineStore, notifier, null);
+    }
+
+    public OkxWsDataSource(ExchangeConfig config,
+                           KLineConverter klineConverter,
+                           KLineStore klineStore,
+                           CompositeNotifier notifier,
+                           KLineRestClient restClient) {
+        this(config, klineConverter, klineStore, notifier, restClient, null);
+    }
+
+    /**
+     * @param restClient     重连后回补缺口使用的 REST 客户端，可为 null
+     * @param eventLoopGroup 共享的 EventLoopGroup，可为 null（由分片客户端自建）
+     */
+    public OkxWsDataSource(ExchangeConfig config,
+                           KLineConverter klineConverter,
+                           KLineStore klineStore,
+                           CompositeNotifier notifier,
+                           KLineRestClient restClient,
+                           EventLoopGroup eventLoopGroup) {
         this.klineConverter = klineConverter;
         this.klineStore = klineStore;
         this.notifier = notifier;
+        this.backfiller = restClient != null ? new KLineBackfiller(restClient, klineStore, notifier) : null;
+        this.client = new ShardedExchangeClient(config, shard -> new OkxStreamClient(config, shard), eventLoopGroup);
     }
 
     @Override
@@ -61,7 +101,7 @@ public class OkxWsDataSource extends ExchangeWebSocketClient implements QuoteDat
     @Override
     public void start() {
         try {
-            connect();
+            client.connect();
         } catch (Exception e) {
             log.error("[OKX] Failed to start WebSocket data source", e);
             throw new RuntimeException("Failed to connect to OKX WebSocket", e);
@@ -70,7 +110,10 @@ public class OkxWsDataSource extends ExchangeWebSocketClient implements QuoteDat
 
     @Override
     public void stop() {
-        disconnect();
+        client.disconnect();
+        if (backfiller != null) {
+            backfiller.shutdown();
+        }
         topicIntervalMap.clear();
         topicSymbolMap.clear();
         connected = false;
@@ -83,17 +126,12 @@ public class OkxWsDataSource extends ExchangeWebSocketClient implements QuoteDat
         topicSymbolMap.put(topic, symbol);
 
         // 注册订阅监听，回调中完成转换→存储→通知
-        super.subscribe(topic, (t, payload) -> {
-            try {
-                KLine kline = klineConverter.convert(symbol, interval, payload);
-                if (kline != null) {
-                    klineStore.save(kline);
-                    notifier.notifyKLine(kline);
-                }
-            } catch (Exception e) {
-                log.error("[OKX] Error processing KLine for {}:{}", symbol, interval.getCode(), e);
-            }
-        });
+        try {
+            client.subscribe(topic, new KLineListener(symbol, interval));
+        } catch (Exception e) {
+            log.error("[OKX] Failed to subscribe {}", topic, e);
+            throw new RuntimeException("Failed to subscribe OKX channel " + topic, e);
+        }
     }
 
     @Override
@@ -101,7 +139,7 @@ public class OkxWsDataSource extends ExchangeWebSocketClient implements QuoteDat
         String topic = buildTopic(symbol, interval);
         topicIntervalMap.remove(topic);
         topicSymbolMap.remove(topic);
-        super.unsubscribe(topic);
+        client.unsubscribe(topic);
     }
 
     @Override
@@ -109,87 +147,182 @@ public class OkxWsDataSource extends ExchangeWebSocketClient implements QuoteDat
         return connected;
     }
 
-    // ==================== ExchangeWebSocketClient 模板方法 ====================
-
-    @Override
-    protected String buildSubscribeMessage(String topic, Map<String, String> params) {
-        // topic 格式: candle1m:BTC-USDT，解析出 channel 和 instId
-        String[] parts = topic.split(":");
-        String channel = parts[0];
-        String instId = parts.length > 1 ? parts[1] : "";
+    // ==================== 辅助方法 ====================
 
-        JSONObject arg = new JSONObject();
-        arg.put("channel", channel);
-        arg.put("instId", instId);
+    /**
+     * 单个 OKX 公共频道连接（分片）
+     */
+    private class OkxStreamClient extends ExchangeWebSocketClient {
 
-        JSONObject msg = new JSONObject();
-        msg.put("op", "subscribe");
-        msg.put("args", new JSONObject[]{arg});
-        return msg.toJSONString();
-    }
+        private final int shard;
 
-    @Override
-    protected String buildUnsubscribeMessage(String topic) {
-        String[] parts = topic.split(":");
-        String channel = parts[0];
-        String instId = parts.length > 1 ? parts[1] : "";
+        OkxStreamClient(ExchangeConfig config, int shard) {
+            super(config);
+            this.shard = shard;
+        }
 
-        JSONObject arg = new JSONObject();
-        arg.put("channel", channel);
-        arg.put("instId", instId);
+        @Override
+        protected String buildSubscribeMessage(String topic, Map<String, String> params) {
+            return buildSubscribeMessage(List.of(topic));
+        }
 
-        JSONObject msg = new JSONObject();
-        msg.put("op", "unsubscribe");
-        msg.put("args", new JSONObject[]{arg});
-        return msg.toJSONString();
-    }
+        @Override
+        protected String buildUnsubscribeMessage(String topic) {
+            return buildUnsubscribeMessage(List.of(topic));
+        }
 
-    @Override
-    protected ParsedMessage parseMessage(String rawMessage) {
-        try {
-            JSONObject json = JSON.parseObject(rawMessage);
+        @Override
+        protected String buildSubscribeMessage(List<String> topics) {
+            return buildRequest("subscribe", topics);
+        }
 
-            // OKX 数据推送格式: {"arg":{"channel":"candle1m","instId":"BTC-USDT"},"data":[[...]]}
-            JSONObject arg = json.getJSONObject("arg");
-            JSONArray data = json.getJSONArray("data");
+        @Override
+        protected String buildUnsubscribeMessage(List<String> topics) {
+            return buildRequest("unsubscribe", topics);
+        }
 
-            if (arg != null && data != null && !data.isEmpty()) {
-                String channel = arg.getString("channel");
-                String instId = arg.getString("instId");
+        @Override
+        protected ParsedMessage parseMessage(String rawMessage) {
+            try {
+                // OKX 数据推送格式: {"arg":{"channel":"candle1m","instId":"BTC-USDT"},"data":[[...]]}
+                // 单次流式解析同时得到 topic 与 data 中的全部 K线，只接受 candle 开头的频道
+                return toParsedMessage(OkxKLineParser.parse(rawMessage), rawMessage);
+            } catch (Exception e) {
+                log.debug("[OKX] Unrecognized message format: {}", rawMessage);
+            }
+            return null;
+        }
 
-                // 只处理 candle 开头的频道（K线数据）
-                if (channel != null && channel.startsWith("candle")) {
-                    String topic = channel + ":" + instId;
-                    return new ParsedMessage(topic, rawMessage);
-                }
+        @Override
+        protected ParsedMessage parseMessage(ByteBuf content) {
+            try {
+                // 直接解析帧的 UTF-8 字节，不构造 String
+                return toParsedMessage(FrameBytes.parse(content, OkxKLineParser::parse), null);
+            } catch (Exception e) {
+                log.debug("[OKX] Unrecognized message format: {}", FrameBytes.toString(content));
             }
-        } catch (Exception e) {
-            log.debug("[OKX] Unrecognized message format: {}", rawMessage);
+            return null;
+        }
+
+        @Override
+        protected HeartbeatStrategy createHeartbeatStrategy() {
+            // OKX 使用 "ping" 文本心跳
+            return new OkxHeartbeatStrategy();
+        }
+
+        @Override
+        protected void onConnected() {
+            super.onConnected();
+            connected = true;
+            log.info("[OKX] WebSocket shard #{} connected", shard);
+        }
+
+        @Override
+        protected void onConnectionLost() {
+            super.onConnectionLost();
+            connected = client.isConnected();
+            log.warn("[OKX] WebSocket shard #{} connection lost", shard);
+        }
+
+        @Override
+        protected void onReconnected() {
+            super.onReconnected();
+            connected = true;
+            backfill(getSubscriptionManager().getSubscribedTopics(), System.currentTimeMillis());
         }
-        return null;
     }
 
-    @Override
-    protected HeartbeatStrategy createHeartbeatStrategy() {
-        // OKX 使用 "ping" 文本心跳
-        return new OkxHeartbeatStrategy();
+    /**
+     * 回补断线期间缺失的 K线
+     */
+    private void backfill(Set<String> topics, long reconnectTime) {
+        if (backfiller == null) {
+            return;
+        }
+        for (String topic : topics) {
+            String symbol = topicSymbolMap.get(topic);
+            KLineInterval interval = topicIntervalMap.get(topic);
+            if (symbol != null && interval != null) {
+                backfiller.backfillAsync(symbol, interval, reconnectTime);
+            }
+        }
     }
 
-    @Override
-    protected void onConnected() {
-        super.onConnected();
-        connected = true;
-        log.info("[OKX] WebSocket data source connected");
+    /**
+     * 构建订阅请求，topic 格式: candle1m:BTC-USDT，解析出 channel 和 instId
+     */
+    private static String buildRequest(String op, List<String> topics) {
+        JSONObject[] args = new JSONObject[topics.size()];
+        for (int i = 0; i < args.length; i++) {
+            String[] parts = topics.get(i).split(":");
+            JSONObject arg = new JSONObject();
+            arg.put("channel", parts[0]);
+            arg.put("instId", parts.length > 1 ? parts[1] : "");
+            args[i] = arg;
+        }
+
+        JSONObject msg = new JSONObject();
+        msg.put("op", op);
+        msg.put("args", args);
+        return msg.toJSONString();
     }
 
-    @Override
-    protected void onConnectionLost() {
-        super.onConnectionLost();
-        connected = false;
-        log.warn("[OKX] WebSocket data source connection lost");
+    private static ExchangeWebSocketClient.ParsedMessage toParsedMessage(OkxKLineParser.Frame frame,
+                                                                         String rawMessage) {
+        if (frame == null || frame.channel() == null) {
+            return null;
+        }
+        // 只有全部行都未收盘时才可在分发积压时合并，含收盘 K线的消息必须送达
+        boolean conflatable = true;
+        for (KLine kline : frame.candles()) {
+            if (Boolean.TRUE.equals(kline.getClosed())) {
+                conflatable = false;
+                break;
+            }
+        }
+        return new ExchangeWebSocketClient.ParsedMessage(frame.topic(), rawMessage, frame, conflatable);
     }
 
-    // ==================== 辅助方法 ====================
+    /**
+     * K线订阅监听：优先使用 parseMessage 阶段的解析结果（data 可能包含多行），缺失时回落到转换器解析 payload
+     */
+    private class KLineListener implements SubscriptionListener {
+
+        private final String symbol;
+        private final KLineInterval interval;
+
+        KLineListener(String symbol, KLineInterval interval) {
+            this.symbol = symbol;
+            this.interval = interval;
+        }
+
+        @Override
+        public void onData(String topic, String payload) {
+            onData(topic, payload, null);
+        }
+
+        @Override
+        public void onData(String topic, String payload, Object data) {
+            try {
+                List<KLine> klines;
+                if (data instanceof OkxKLineParser.Frame frame) {
+                    klines = frame.bind(symbol, interval);
+                } else {
+                    klines = klineConverter.convertBatch(symbol, interval, payload);
+                }
+                if (klines.size() == 1) {
+                    KLine kline = klines.get(0);
+                    klineStore.save(kline);
+                    notifier.notifyKLine(kline);
+                } else if (!klines.isEmpty()) {
+                    klineStore.saveBatch(klines);
+                    notifier.notifyKLineBatch(klines);
+                }
+            } catch (Exception e) {
+                log.error("[OKX] Error processing KLine for {}:{}", symbol, interval.getCode(), e);
+            }
+        }
+    }
 
     /**
      * 构建 OKX WebSocket 订阅 topic
@@ -231,6 +364,11 @@ public class OkxWsDataSource extends ExchangeWebSocketClient implements QuoteDat
             return "pong".equals(message);
         }
 
+        @Override
+        public boolean isHeartbeatResponse(ByteBuf content) {
+            return FrameBytes.equalsAscii(content, "pong", false);
+        }
+
         @Override
         public void handleHeartbeatResponse(Channel channel, String message) {
             // no-op
@@ -0,0 +1,49 @@
+package com.vertex.service.quote.store;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.rocksdb.CompactionStyle;
+
+import java.time.Duration;
+
+/**
+ * Column Family 调优参数
+ * <p>
+ * 字段为 null 表示沿用默认值，见 {@link #mergeWith(ColumnFamilyTuning)}。
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ColumnFamilyTuning {
+
+    /** 单个写缓冲（memtable）大小（字节） */
+    private Long writeBufferSize;
+
+    /** 写缓冲最大个数 */
+    private Integer maxWriteBufferNumber;
+
+    /** 压缩风格：LEVEL / UNIVERSAL / FIFO */
+    private CompactionStyle compactionStyle;
+
+    /** 独占 block cache 大小（字节），从 {@link RocksDBTuning#getBlockCacheSize()} 中划出；0 表示使用公共 block cache */
+    private Long blockCacheSize;
+
+    /** 数据保留时长（按 K线开盘时间），null 表示永久保留 */
+    private Duration retention;
+
+    /**
+     * 以 defaults 补全未设置的字段
+     */
+    public ColumnFamilyTuning mergeWith(ColumnFamilyTuning defaults) {
+        return ColumnFamilyTuning.builder()
+                .writeBufferSize(writeBufferSize != null ? writeBufferSize : defaults.getWriteBufferSize())
+                .maxWriteBufferNumber(maxWriteBufferNumber != null ? maxWriteBufferNumber : defaults.getMaxWriteBufferNumber())
+                .compactionStyle(compactionStyle != null ? compactionStyle : defaults.getCompactionStyle())
+                .blockCacheSize(blockCacheSize != null ? blockCacheSize : defaults.getBlockCacheSize())
+                .retention(retention != null ? retention : defaults.getRetention())
+                .build();
+    }
+}
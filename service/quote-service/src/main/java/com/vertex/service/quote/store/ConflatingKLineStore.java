@@ -0,0 +1,282 @@
+package com.vertex.service.quote.store;
+
+import com.vertex.model.entity.quote.KLine;
+import com.vertex.model.entity.quote.KLineInterval;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 未收盘 K线合并写入装饰器
+ * <p>
+ * 交易所每秒会多次推送同一根未收盘 K线（closed != true），逐条写入只是反复覆盖同一个 Key。
+ * 本装饰器在内存中为每个序列只保留最新一版未收盘 K线，按 flushIntervalMillis 周期批量写入；
+ * 收盘 K线（closed == true）立即写入，并丢弃同一根及更早的待写版本，收盘数据不会丢失。
+ * <p>
+ * 周期写出与收盘 K线的写入互斥执行，且每个序列记录最近一根收盘 K线的开盘时间（水位）：
+ * 开盘时间不晚于水位的未收盘版本一律丢弃，不会在收盘版本之后落盘将其覆盖。
+ * <p>
+ * 查询会合并尚未写入的最新版本，读到的数据与逐条写入时一致。
+ * 生命周期会转发给被装饰存储：关闭时先写出全部待写版本再关闭下游。
+ */
+@Slf4j
+public class ConflatingKLineStore implements KLineStore, InitializingBean, DisposableBean {
+
+    private final KLineStore delegate;
+    private final long flushIntervalMillis;
+
+    /** 每个序列最新一版未收盘 K线 */
+    private final Map<SeriesKey, KLine> pending = new ConcurrentHashMap<>();
+
+    /** 每个序列最近一根收盘 K线的开盘时间 */
+    private final Map<SeriesKey, Long> lastClosed = new ConcurrentHashMap<>();
+
+    /** 串行化写往下游的操作（周期写出与收盘写入），保证同一根 K线的未收盘版本不会晚于收盘版本写出 */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+
+    private ScheduledExecutorService flushExecutor;
+
+    /**
+     * @param delegate            被装饰的存储
+     * @param flushIntervalMillis 未收盘 K线写入周期（毫秒）
+     */
+    public ConflatingKLineStore(KLineStore delegate, long flushIntervalMillis) {
+        this.delegate = delegate;
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (delegate instanceof InitializingBean initializingBean) {
+            initializingBean.afterPropertiesSet();
+        }
+        flushExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "kline-conflation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flushExecutor.scheduleWithFixedDelay(this::flush,
+                flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        log.info("KLine conflation started, flush interval: {}ms", flushIntervalMillis);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (flushExecutor != null) {
+            flushExecutor.shutdown();
+            flushExecutor.awaitTermination(flushIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+        flush();
+        if (delegate instanceof DisposableBean disposableBean) {
+            disposableBean.destroy();
+        }
+    }
+
+    @Override
+    public void save(KLine kline) {
+        received.increment();
+        if (!isClosed(kline)) {
+            acceptOpen(kline);
+            return;
+        }
+        writeLock.lock();
+        try {
+            List<KLine> immediate = new ArrayList<>(2);
+            acceptClosed(kline, immediate);
+            if (immediate.size() == 1) {
+                delegate.save(immediate.get(0));
+            } else {
+                delegate.saveBatch(immediate);
+            }
+            flushed.add(immediate.size());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void saveBatch(List<KLine> klines) {
+        received.add(klines.size());
+        List<KLine> closed = null;
+        for (KLine kline : klines) {
+            if (isClosed(kline)) {
+                if (closed == null) {
+                    closed = new ArrayList<>();
+                }
+                closed.add(kline);
+            } else {
+                acceptOpen(kline);
+            }
+        }
+        if (closed == null) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            List<KLine> immediate = new ArrayList<>(closed.size());
+            for (KLine kline : closed) {
+                acceptClosed(kline, immediate);
+            }
+            delegate.saveBatch(immediate);
+            flushed.add(immediate.size());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<KLine> query(String exchange, String symbol, KLineInterval interval,
+                             Long startTime, Long endTime, int limit) {
+        List<KLine> result = delegate.query(exchange, symbol, interval, startTime, endTime, limit);
+        KLine latest = pending.get(new SeriesKey(exchange, symbol, interval));
+        if (latest == null
+                || (startTime != null && latest.getOpenTime() < startTime)
+                || (endTime != null && latest.getOpenTime() > endTime)) {
+            return result;
+        }
+        List<KLine> merged = new ArrayList<>(result);
+        int last = merged.size() - 1;
+        if (last >= 0 && merged.get(last).getOpenTime().equals(latest.getOpenTime())) {
+            merged.set(last, latest);
+        } else if ((last < 0 || merged.get(last).getOpenTime() < latest.getOpenTime()) && merged.size() < limit) {
+            merged.add(latest);
+        }
+        return merged;
+    }
+
+    @Override
+    public KLine getLatest(String exchange, String symbol, KLineInterval interval) {
+        KLine latest = pending.get(new SeriesKey(exchange, symbol, interval));
+        KLine stored = delegate.getLatest(exchange, symbol, interval);
+        if (latest == null) {
+            return stored;
+        }
+        return stored != null && stored.getOpenTime() > latest.getOpenTime() ? stored : latest;
+    }
+
+    private static boolean isClosed(KLine kline) {
+        return Boolean.TRUE.equals(kline.getClosed());
+    }
+
+    /**
+     * 未收盘 K线进入待写表，同一序列只保留开盘时间最新的一版；不晚于收盘水位的版本丢弃
+     */
+    private void acceptOpen(KLine kline) {
+        SeriesKey key = SeriesKey.of(kline);
+        pending.compute(key, (k, old) -> {
+            if (isStale(k, kline)) {
+                stale.increment();
+                return old;
+            }
+            return old == null || kline.getOpenTime() >= old.getOpenTime() ? kline : old;
+        });
+    }
+
+    /**
+     * 收盘 K线推进水位，连同需要立即写出的更早版本加入 immediate；调用方持有 writeLock
+     */
+    private void acceptClosed(KLine kline, List<KLine> immediate) {
+        SeriesKey key = SeriesKey.of(kline);
+        // 先推进水位再清理待写表：此后进入 compute 的同一根未收盘版本都会被丢弃
+        lastClosed.merge(key, kline.getOpenTime(), Math::max);
+        pending.computeIfPresent(key, (k, old) -> {
+            if (old.getOpenTime() > kline.getOpenTime()) {
+                return old;
+            }
+            // 更早一根未收到收盘推送的 K线照常写出，同一根的未收盘版本被收盘版本取代
+            if (old.getOpenTime() < kline.getOpenTime()) {
+                immediate.add(old);
+            }
+            return null;
+        });
+        immediate.add(kline);
+    }
+
+    /**
+     * 未收盘版本的开盘时间不晚于该序列最近一根收盘 K线
+     */
+    private boolean isStale(SeriesKey key, KLine kline) {
+        Long closedOpenTime = lastClosed.get(key);
+        return closedOpenTime != null && kline.getOpenTime() <= closedOpenTime;
+    }
+
+    /**
+     * 写出全部待写的未收盘 K线
+     */
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            List<KLine> batch = new ArrayList<>(pending.size());
+            for (Map.Entry<SeriesKey, KLine> entry : pending.entrySet()) {
+                // 仅在期间没有新版本写入时移除，新版本留待下个周期
+                if (pending.remove(entry.getKey(), entry.getValue()) && !isStale(entry.getKey(), entry.getValue())) {
+                    batch.add(entry.getValue());
+                }
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                delegate.saveBatch(batch);
+                flushed.add(batch.size());
+            } catch (Exception e) {
+                log.error("Failed to flush conflated KLines, size: {}", batch.size(), e);
+                // 放回待写表：期间已有更新版本或已收盘的序列以新数据为准
+                for (KLine kline : batch) {
+                    pending.compute(SeriesKey.of(kline), (k, old) -> old != null || isStale(k, kline) ? old : kline);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // ==================== 指标 ====================
+
+    /** 当前待写的序列数 */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /** 累计收到的写入条数 */
+    public long getReceivedCount() {
+        return received.sum();
+    }
+
+    /** 累计写入下游的条数 */
+    public long getFlushedCount() {
+        return flushed.sum();
+    }
+
+    /** 因晚于同一根收盘版本到达而丢弃的未收盘版本数 */
+    public long getStaleDroppedCount() {
+        return stale.sum();
+    }
+
+    /**
+     * 序列标识
+     */
+    private record SeriesKey(String exchange, String symbol, KLineInterval interval) {
+
+        static SeriesKey of(KLine kline) {
+            return new SeriesKey(kline.getExchange(), kline.getSymbol(), kline.getInterval());
+        }
+    }
+}
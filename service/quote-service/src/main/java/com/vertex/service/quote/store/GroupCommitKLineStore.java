@@ -0,0 +1,371 @@
+package com.vertex.service.quote.store;
+
+import com.vertex.model.entity.quote.KLine;
+import com.vertex.model.entity.quote.KLineInterval;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 异步组提交 K线存储装饰器
+ * <p>
+ * 写入先进入有界环形队列立即返回，由独立写线程攒批后调用被装饰存储的 {@link KLineStore#saveBatch(List)}，
+ * 满 batchSize 条或首条入队后超过 maxDelayMicros 即提交一次。WebSocket 回调（Netty I/O 线程）
+ * 不再直接承担 RocksDB 写入与 WAL 追加的延迟，大量单条 put 合并为少量大批次。
+ * <p>
+ * 队列满时写入方阻塞等待（背压），阻塞次数与时长通过 getter 暴露。
+ * 查询直接委托被装饰存储，尚未提交的写入最多延迟 maxDelayMicros 可见。
+ * <p>
+ * 批次提交失败时按指数退避重试，不丢弃已收盘的 K线；重试期间队列积压，写入方进入背压。
+ * <p>
+ * 生命周期（InitializingBean / DisposableBean）会转发给被装饰存储：关闭时先排空队列再关闭下游。
+ * 关闭过程中的写入仍然入队，由写线程按顺序提交；写线程退出后的写入不再提交，计入 failed。
+ * 写线程未能按时退出时先中断再等待一次，仍未退出则放弃队列中剩余的数据（计入 failed）且不关闭下游，
+ * 避免写线程向已关闭的 RocksDB 句柄写入。
+ */
+@Slf4j
+public class GroupCommitKLineStore implements KLineStore, InitializingBean, DisposableBean {
+
+    /** 写线程空闲时的轮询间隔（毫秒），用于感知关闭 */
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    /** 关闭时等待写线程排空的最长时间（秒） */
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    /** 提交失败后的首次重试间隔（毫秒），之后翻倍 */
+    private static final long RETRY_INITIAL_BACKOFF_MILLIS = 50;
+
+    /** 提交重试间隔上限（毫秒） */
+    private static final long RETRY_MAX_BACKOFF_MILLIS = 2000;
+
+    /** 关闭阶段单批最多尝试次数，运行期间无限重试 */
+    private static final int SHUTDOWN_COMMIT_ATTEMPTS = 3;
+
+    private final KLineStore delegate;
+    private final int batchSize;
+    private final long maxDelayNanos;
+    private final BlockingQueue<KLine> queue;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder committed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder backpressureCount = new LongAdder();
+    private final LongAdder backpressureNanos = new LongAdder();
+
+    private volatile boolean running;
+
+    /** 写线程已退出，此后的写入不再提交 */
+    private volatile boolean writerExited;
+
+    /** 关闭超时后放弃提交，写线程与写入方都不再调用下游 */
+    private volatile boolean abandoned;
+
+    /** 串行化写线程退出时的排空与之后的丢弃 */
+    private final Object drainLock = new Object();
+
+    private Thread writer;
+
+    /**
+     * @param delegate       被装饰的存储
+     * @param queueCapacity  环形队列容量
+     * @param batchSize      单批最大条数
+     * @param maxDelayMicros 单批最长等待时间（微秒）
+     */
+    public GroupCommitKLineStore(KLineStore delegate, int queueCapacity, int batchSize, long maxDelayMicros) {
+        this.delegate = delegate;
+        this.batchSize = batchSize;
+        this.maxDelayNanos = TimeUnit.MICROSECONDS.toNanos(maxDelayMicros);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (delegate instanceof InitializingBean initializingBean) {
+            initializingBean.afterPropertiesSet();
+        }
+        running = true;
+        writerExited = false;
+        abandoned = false;
+        writer = new Thread(this::runWriter, "kline-group-commit");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("KLine group commit started, queue capacity: {}, batch size: {}, max delay: {}µs",
+                queue.remainingCapacity(), batchSize, TimeUnit.NANOSECONDS.toMicros(maxDelayNanos));
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        running = false;
+        if (writer != null) {
+            long timeoutMillis = TimeUnit.SECONDS.toMillis(SHUTDOWN_TIMEOUT_SECONDS);
+            writer.join(timeoutMillis);
+            if (writer.isAlive()) {
+                log.warn("KLine group commit writer did not stop in time, interrupting, pending: {}", queue.size());
+                writer.interrupt();
+                writer.join(timeoutMillis);
+            }
+            if (writer.isAlive()) {
+                // 写线程仍可能在调用下游，不能关闭下游；放弃剩余数据，阻止后续提交
+                abandoned = true;
+                int dropped = discardPending();
+                log.error("KLine group commit writer is still running, skip closing delegate, dropped: {}", dropped);
+                return;
+            }
+        }
+        if (delegate instanceof DisposableBean disposableBean) {
+            disposableBean.destroy();
+        }
+    }
+
+    @Override
+    public void save(KLine kline) {
+        if (writer == null) {
+            // 尚未启动
+            delegate.save(kline);
+            return;
+        }
+        if (rejectIfStopped(1)) {
+            return;
+        }
+        enqueue(kline);
+        discardIfWriterExited();
+    }
+
+    @Override
+    public void saveBatch(List<KLine> klines) {
+        if (writer == null) {
+            delegate.saveBatch(klines);
+            return;
+        }
+        if (rejectIfStopped(klines.size())) {
+            return;
+        }
+        // 与单条写入走同一队列，保证同一根 K线的先后顺序
+        for (KLine kline : klines) {
+            enqueue(kline);
+        }
+        discardIfWriterExited();
+    }
+
+    @Override
+    public List<KLine> query(String exchange, String symbol, KLineInterval interval,
+                             Long startTime, Long endTime, int limit) {
+        return delegate.query(exchange, symbol, interval, startTime, endTime, limit);
+    }
+
+    @Override
+    public KLine getLatest(String exchange, String symbol, KLineInterval interval) {
+        return delegate.getLatest(exchange, symbol, interval);
+    }
+
+    // ==================== 指标 ====================
+
+    /** 当前排队条数 */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /** 累计入队条数 */
+    public long getEnqueuedCount() {
+        return enqueued.sum();
+    }
+
+    /** 累计提交成功条数 */
+    public long getCommittedCount() {
+        return committed.sum();
+    }
+
+    /** 累计提交批次数 */
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    /** 累计提交失败（重试耗尽后放弃）条数 */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /** 累计批次重试次数 */
+    public long getRetryCount() {
+        return retries.sum();
+    }
+
+    /** 队列满导致写入方阻塞的次数 */
+    public long getBackpressureCount() {
+        return backpressureCount.sum();
+    }
+
+    /** 写入方因背压累计阻塞时长（纳秒） */
+    public long getBackpressureNanos() {
+        return backpressureNanos.sum();
+    }
+
+    // ==================== 写线程 ====================
+
+    private void enqueue(KLine kline) {
+        if (!queue.offer(kline)) {
+            backpressureCount.increment();
+            long start = System.nanoTime();
+            boolean interrupted = false;
+            try {
+                // 不能改为同步写入：队列中可能还有同一根 K线的旧版本
+                while (true) {
+                    try {
+                        queue.put(kline);
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            } finally {
+                backpressureNanos.add(System.nanoTime() - start);
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        enqueued.increment();
+    }
+
+    /**
+     * 写线程已退出或已放弃提交时拒绝写入，计入 failed
+     *
+     * @return 是否已拒绝
+     */
+    private boolean rejectIfStopped(int size) {
+        if (!writerExited && !abandoned) {
+            return false;
+        }
+        failed.add(size);
+        log.warn("KLine group commit is stopped, dropped {} KLine(s)", size);
+        return true;
+    }
+
+    /**
+     * 入队期间写线程恰好退出时，丢弃其未能提交的数据；关闭开始后写入方不再调用下游
+     */
+    private void discardIfWriterExited() {
+        if (!writerExited && !abandoned) {
+            return;
+        }
+        int dropped = discardPending();
+        if (dropped > 0) {
+            log.warn("KLine group commit is stopped, dropped {} KLine(s)", dropped);
+        }
+    }
+
+    /**
+     * 清空队列，计入 failed
+     *
+     * @return 丢弃条数
+     */
+    private int discardPending() {
+        synchronized (drainLock) {
+            List<KLine> dropped = new ArrayList<>();
+            queue.drainTo(dropped);
+            failed.add(dropped.size());
+            return dropped.size();
+        }
+    }
+
+    private void runWriter() {
+        List<KLine> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                KLine first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch);
+                commit(batch, true);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            commit(batch, false);
+        } finally {
+            // 先标记退出再排空：标记之前入队的数据由这里提交，之后入队的由写入方丢弃
+            writerExited = true;
+            synchronized (drainLock) {
+                while (queue.drainTo(batch, batchSize) > 0) {
+                    commit(batch, false);
+                }
+            }
+        }
+    }
+
+    /**
+     * 在 maxDelay 内尽量攒满一批
+     */
+    private void fill(List<KLine> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + maxDelayNanos;
+        while (batch.size() < batchSize) {
+            if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            KLine next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    /**
+     * 提交一批，失败时指数退避重试；运行期间重试直到成功，关闭阶段最多 {@link #SHUTDOWN_COMMIT_ATTEMPTS} 次
+     *
+     * @param retryWhileRunning 是否在运行期间无限重试（仅写线程）
+     */
+    private void commit(List<KLine> batch, boolean retryWhileRunning) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long backoff = RETRY_INITIAL_BACKOFF_MILLIS;
+        try {
+            for (int attempt = 1; ; attempt++) {
+                if (abandoned) {
+                    failed.add(batch.size());
+                    return;
+                }
+                try {
+                    delegate.saveBatch(batch);
+                    committed.add(batch.size());
+                    batches.increment();
+                    return;
+                } catch (Exception e) {
+                    boolean retry = (retryWhileRunning && running) || attempt < SHUTDOWN_COMMIT_ATTEMPTS;
+                    if (!retry) {
+                        failed.add(batch.size());
+                        log.error("Failed to commit KLine batch after {} attempts, size: {}", attempt, batch.size(), e);
+                        return;
+                    }
+                    retries.increment();
+                    log.warn("Failed to commit KLine batch, size: {}, retrying in {}ms (attempt {})",
+                            batch.size(), backoff, attempt, e);
+                }
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    retryWhileRunning = false;
+                }
+                backoff = Math.min(backoff * 2, RETRY_MAX_BACKOFF_MILLIS);
+            }
+        } finally {
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.vertex.service.quote.store;
+
+import com.vertex.model.entity.quote.KLineInterval;
+import org.rocksdb.CompactionStyle;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * K线 Column Family 规划
+ * <p>
+ * 每个 {@link KLineInterval} 独占一个 Column Family，按写入频率分三组给出默认调优：
+ * <ul>
+ *   <li>高频（1m/3m/5m）：持续写入，较大写缓冲以降低 flush 与压缩频率</li>
+ *   <li>日内（15m ~ 12h）：中等写缓冲</li>
+ *   <li>长周期（1d 及以上）：几乎只读，小写缓冲 + 独占 block cache，避免被高频序列挤出缓存</li>
+ * </ul>
+ * 独占 block cache 从 {@link RocksDBTuning#getBlockCacheSize()} 中划出，默认 4 个长周期共占 128MB，
+ * 公共 cache 为剩余部分，block cache 总量不变。
+ */
+public final class KLineColumnFamilies {
+
+    private static final long MB = 1024L * 1024;
+
+    private static final ColumnFamilyTuning HIGH_FREQUENCY = ColumnFamilyTuning.builder()
+            .writeBufferSize(64 * MB)
+            .maxWriteBufferNumber(3)
+            .compactionStyle(CompactionStyle.LEVEL)
+            .blockCacheSize(0L)
+            .build();
+
+    private static final ColumnFamilyTuning INTRADAY = ColumnFamilyTuning.builder()
+            .writeBufferSize(16 * MB)
+            .maxWriteBufferNumber(2)
+            .compactionStyle(CompactionStyle.LEVEL)
+            .blockCacheSize(0L)
+            .build();
+
+    private static final ColumnFamilyTuning LONG_HORIZON = ColumnFamilyTuning.builder()
+            .writeBufferSize(4 * MB)
+            .maxWriteBufferNumber(2)
+            .compactionStyle(CompactionStyle.LEVEL)
+            // 计入 RocksDBTuning.blockCacheSize，而非额外占用
+            .blockCacheSize(32 * MB)
+            .build();
+
+    private KLineColumnFamilies() {
+    }
+
+    /**
+     * Column Family 名称，如 kline_m1、kline_h4（使用枚举名，避免 1m / 1M 仅大小写不同）
+     */
+    public static String name(KLineInterval interval) {
+        return "kline_" + interval.name().toLowerCase();
+    }
+
+    /**
+     * 周期对应的默认调优
+     */
+    public static ColumnFamilyTuning defaultTuning(KLineInterval interval) {
+        return switch (interval) {
+            case M1, M3, M5 -> HIGH_FREQUENCY;
+            case M15, M30, H1, H2, H4, H6, H8, H12 -> INTRADAY;
+            case D1, D3, W1, MN1 -> LONG_HORIZON;
+        };
+    }
+
+    /**
+     * 合并配置覆盖项与默认调优，返回全部周期的最终调优
+     *
+     * @param overrides 按周期覆盖的调优项，可为 null
+     */
+    public static Map<KLineInterval, ColumnFamilyTuning> resolve(Map<KLineInterval, ColumnFamilyTuning> overrides) {
+        Map<KLineInterval, ColumnFamilyTuning> result = new EnumMap<>(KLineInterval.class);
+        for (KLineInterval interval : KLineInterval.values()) {
+            ColumnFamilyTuning override = overrides != null ? overrides.get(interval) : null;
+            ColumnFamilyTuning defaults = defaultTuning(interval);
+            result.put(interval, override != null ? override.mergeWith(defaults) : defaults);
+        }
+        return result;
+    }
+
+    /**
+     * 转换为以 Column Family 名称为 Key 的调优表，供 {@link RocksDBManager} 打开时使用
+     */
+    public static Map<String, ColumnFamilyTuning> byName(Map<KLineInterval, ColumnFamilyTuning> tunings) {
+        Map<String, ColumnFamilyTuning> result = new LinkedHashMap<>();
+        tunings.forEach((interval, tuning) -> result.put(name(interval), tuning));
+        return result;
+    }
+}
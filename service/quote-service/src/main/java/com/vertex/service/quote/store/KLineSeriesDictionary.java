@@ -0,0 +1,132 @@
+package com.vertex.service.quote.store;
+
+import com.vertex.model.entity.quote.KLineInterval;
+import lombok.extern.slf4j.Slf4j;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.RocksDBException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * K线序列字典
+ * <p>
+ * 将 (exchange, symbol, interval) 映射为定长 4 字节的序列 ID，作为 K线 Key 的前缀。
+ * 映射持久化在独立的 Column Family 中，Key 为 {exchange}:{symbol}:{interval}，Value 为大端 ID。
+ * 启动时全量加载到内存，写路径查找只做两次 Map 访问和一次数组下标，不拼接字符串。
+ */
+@Slf4j
+public class KLineSeriesDictionary {
+
+    /** 字典所在 Column Family */
+    public static final String COLUMN_FAMILY = "kline_series";
+
+    /** 未分配的序列 ID */
+    public static final int NO_ID = 0;
+
+    private static final int INTERVAL_COUNT = KLineInterval.values().length;
+
+    private final RocksDBManager rocksDBManager;
+
+    /** exchange → symbol → 按 interval.ordinal() 索引的序列 ID */
+    private final Map<String, Map<String, int[]>> ids = new ConcurrentHashMap<>();
+
+    /** 序列 ID → 周期 */
+    private final Map<Integer, KLineInterval> intervals = new ConcurrentHashMap<>();
+
+    private ColumnFamilyHandle columnFamily;
+    private int maxId = NO_ID;
+
+    public KLineSeriesDictionary(RocksDBManager rocksDBManager) {
+        this.rocksDBManager = rocksDBManager;
+    }
+
+    /**
+     * 从 RocksDB 加载全部映射
+     */
+    public synchronized void load() throws RocksDBException {
+        columnFamily = rocksDBManager.getOrCreateColumnFamily(COLUMN_FAMILY);
+        rocksDBManager.forEach(columnFamily, null, (key, value) -> {
+            String series = new String(key, StandardCharsets.UTF_8);
+            int first = series.indexOf(':');
+            int last = series.lastIndexOf(':');
+            if (first < 0 || last <= first) {
+                log.warn("Skip malformed KLine series entry: {}", series);
+                return;
+            }
+            int id = ByteBuffer.wrap(value).getInt();
+            KLineInterval interval = KLineInterval.fromCode(series.substring(last + 1));
+            slots(series.substring(0, first), series.substring(first + 1, last))[interval.ordinal()] = id;
+            intervals.put(id, interval);
+            maxId = Math.max(maxId, id);
+        });
+        log.info("KLine series dictionary loaded, series count: {}", intervals.size());
+    }
+
+    /**
+     * 查找序列 ID
+     *
+     * @return 序列 ID，不存在时返回 {@link #NO_ID}
+     */
+    public int getId(String exchange, String symbol, KLineInterval interval) {
+        Map<String, int[]> symbols = ids.get(exchange);
+        if (symbols == null) {
+            return NO_ID;
+        }
+        int[] slots = symbols.get(symbol);
+        return slots != null ? slots[interval.ordinal()] : NO_ID;
+    }
+
+    /**
+     * 查找序列 ID，不存在时分配并持久化
+     */
+    public int getOrCreateId(String exchange, String symbol, KLineInterval interval) throws RocksDBException {
+        int id = getId(exchange, symbol, interval);
+        return id != NO_ID ? id : createId(exchange, symbol, interval);
+    }
+
+    /**
+     * 序列 ID 对应的周期，不存在时返回 null
+     */
+    public KLineInterval getInterval(int id) {
+        return intervals.get(id);
+    }
+
+    /**
+     * 指定周期下的全部序列 ID
+     */
+    public List<Integer> getIds(KLineInterval interval) {
+        List<Integer> result = new ArrayList<>();
+        intervals.forEach((id, value) -> {
+            if (value == interval) {
+                result.add(id);
+            }
+        });
+        return result;
+    }
+
+    private synchronized int createId(String exchange, String symbol, KLineInterval interval) throws RocksDBException {
+        int[] slots = slots(exchange, symbol);
+        int id = slots[interval.ordinal()];
+        if (id != NO_ID) {
+            return id;
+        }
+        id = maxId + 1;
+        byte[] key = (exchange + ":" + symbol + ":" + interval.getCode()).getBytes(StandardCharsets.UTF_8);
+        rocksDBManager.put(columnFamily, key, ByteBuffer.allocate(Integer.BYTES).putInt(id).array());
+        slots[interval.ordinal()] = id;
+        intervals.put(id, interval);
+        maxId = id;
+        log.info("KLine series registered: {}:{}:{} → {}", exchange, symbol, interval.getCode(), id);
+        return id;
+    }
+
+    private int[] slots(String exchange, String symbol) {
+        return ids.computeIfAbsent(exchange, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(symbol, k -> new int[INTERVAL_COUNT]);
+    }
+}
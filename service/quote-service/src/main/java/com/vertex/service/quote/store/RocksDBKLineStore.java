@@ -1,38 +1,124 @@
 package com.vertex.service.quote.store;
 
-import com.alibaba.fastjson2.JSON;
 import com.vertex.common.core.GlobalError;
 import com.vertex.common.core.exception.BizException;
 import com.vertex.model.entity.quote.KLine;
 import com.vertex.model.entity.quote.KLineInterval;
-import lombok.RequiredArgsConstructor;
+import com.vertex.service.quote.store.codec.KLineValueCodec;
+import com.vertex.service.quote.store.codec.KLineValueFormat;
 import lombok.extern.slf4j.Slf4j;
+import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 基于 RocksDB 的 K线存储实现
  * <p>
- * Key 设计：{exchange}:{symbol}:{interval}:{openTime(固定19位)}
- * 示例：binance:BTC-USDT:1h:0000001706745600000
+ * Key 设计（12 字节定长）：{seriesId(4B 大端)}{openTime(8B 大端)}
+ * <ul>
+ *   <li>seriesId 由 {@link KLineSeriesDictionary} 将 (exchange, symbol, interval) 映射得到</li>
+ *   <li>同一序列的 K线共享 4 字节前缀，字节序 = 时间序</li>
+ *   <li>seriesId 同时作为 RocksDB 前缀提取器的前缀，见 {@link #SERIES_ID_LENGTH}</li>
+ * </ul>
+ * Value 编码由 {@link KLineValueFormat} 决定，读取时按首字节自动识别格式，
+ * 历史 JSON 数据无需迁移即可读取。
+ * <p>
+ * 每个周期写入独立的 Column Family（见 {@link KLineColumnFamilies}），高频序列的 flush / 压缩
+ * 不影响长周期序列的查询；配置了 retention 的周期由后台任务定期按序列范围删除过期数据。
+ * <p>
+ * 早期版本的数据位于默认 Column Family：文本 Key {exchange}:{symbol}:{interval}:{openTime(固定19位)}
+ * 以及未分 Column Family 的二进制 Key，启动时会一次性迁移到对应周期的 Column Family。
  */
 @Slf4j
-@RequiredArgsConstructor
-public class RocksDBKLineStore implements KLineStore {
+public class RocksDBKLineStore implements KLineStore, InitializingBean, DisposableBean {
+
+    /** 序列 ID 长度，即 RocksDB 前缀提取器的前缀长度 */
+    public static final int SERIES_ID_LENGTH = Integer.BYTES;
+
+    /** 完整 Key 长度 */
+    static final int KEY_LENGTH = SERIES_ID_LENGTH + Long.BYTES;
 
-    private static final int TIMESTAMP_LENGTH = 19;
+    private static final int MIGRATE_BATCH_SIZE = 1000;
+
+    /** 过期数据清理间隔（分钟） */
+    private static final long RETENTION_PERIOD_MINUTES = 60;
 
     private final RocksDBManager rocksDBManager;
+    private final KLineValueFormat valueFormat;
+    private final Map<KLineInterval, ColumnFamilyTuning> columnFamilies;
+    private final WriteDurability durability;
+    private final KLineSeriesDictionary seriesDictionary;
+
+    /** 按 interval.ordinal() 索引的 Column Family */
+    private final ColumnFamilyHandle[] handles = new ColumnFamilyHandle[KLineInterval.values().length];
+
+    private WriteOptions writeOptions;
+    private ScheduledExecutorService retentionExecutor;
+
+    public RocksDBKLineStore(RocksDBManager rocksDBManager) {
+        this(rocksDBManager, KLineValueFormat.BINARY, KLineColumnFamilies.resolve(null), WriteDurability.WAL);
+    }
+
+    /**
+     * @param columnFamilies 各周期 Column Family 的最终调优，需与 {@link RocksDBManager} 打开时一致
+     * @param durability     写入持久化级别
+     */
+    public RocksDBKLineStore(RocksDBManager rocksDBManager, KLineValueFormat valueFormat,
+                             Map<KLineInterval, ColumnFamilyTuning> columnFamilies, WriteDurability durability) {
+        this.rocksDBManager = rocksDBManager;
+        this.valueFormat = valueFormat;
+        this.columnFamilies = columnFamilies;
+        this.durability = durability;
+        this.seriesDictionary = new KLineSeriesDictionary(rocksDBManager);
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        writeOptions = durability.newWriteOptions();
+        for (KLineInterval interval : KLineInterval.values()) {
+            handles[interval.ordinal()] = rocksDBManager.getOrCreateColumnFamily(KLineColumnFamilies.name(interval));
+        }
+        seriesDictionary.load();
+        migrateLegacyKeys();
+
+        boolean retentionEnabled = columnFamilies.values().stream().anyMatch(t -> t.getRetention() != null);
+        if (retentionEnabled) {
+            retentionExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "kline-retention");
+                thread.setDaemon(true);
+                return thread;
+            });
+            retentionExecutor.scheduleWithFixedDelay(this::purgeExpired,
+                    1, RETENTION_PERIOD_MINUTES, TimeUnit.MINUTES);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (retentionExecutor != null) {
+            retentionExecutor.shutdownNow();
+        }
+        if (writeOptions != null) {
+            writeOptions.close();
+        }
+    }
 
     @Override
     public void save(KLine kline) {
         try {
-            String key = buildKey(kline);
-            byte[] value = JSON.toJSONBytes(kline);
-            rocksDBManager.put(key, value);
+            byte[] key = buildKey(kline);
+            byte[] value = valueFormat.codec().encode(kline);
+            rocksDBManager.put(writeOptions, handle(kline.getInterval()), key, value);
         } catch (RocksDBException e) {
             log.error("Failed to save KLine: {}", kline, e);
             throw new BizException(GlobalError.KLINE_STORE_ERROR);
@@ -42,11 +128,13 @@ public class RocksDBKLineStore implements KLineStore {
     @Override
     public void saveBatch(List<KLine> klines) {
         try {
-            Map<String, byte[]> entries = new LinkedHashMap<>();
-            for (KLine kline : klines) {
-                entries.put(buildKey(kline), JSON.toJSONBytes(kline));
+            KLineValueCodec codec = valueFormat.codec();
+            try (WriteBatch batch = new WriteBatch()) {
+                for (KLine kline : klines) {
+                    batch.put(handle(kline.getInterval()), buildKey(kline), codec.encode(kline));
+                }
+                rocksDBManager.write(writeOptions, batch);
             }
-            rocksDBManager.putBatch(entries);
         } catch (RocksDBException e) {
             log.error("Failed to save KLine batch, size: {}", klines.size(), e);
             throw new BizException(GlobalError.KLINE_STORE_ERROR);
@@ -56,46 +144,173 @@ public class RocksDBKLineStore implements KLineStore {
     @Override
     public List<KLine> query(String exchange, String symbol, KLineInterval interval,
                              Long startTime, Long endTime, int limit) {
-        String prefix = buildPrefix(exchange, symbol, interval);
-        String startKey = startTime != null ? prefix + padTimestamp(startTime) : null;
-        String endKey = endTime != null ? prefix + padTimestamp(endTime) : null;
+        int seriesId = seriesDictionary.getId(exchange, symbol, interval);
+        if (seriesId == KLineSeriesDictionary.NO_ID) {
+            return Collections.emptyList();
+        }
+        byte[] prefix = buildPrefix(seriesId);
+        byte[] startKey = startTime != null ? buildKey(seriesId, startTime) : null;
+        byte[] endKey = endTime != null ? buildKey(seriesId, endTime) : null;
 
-        List<Map.Entry<String, byte[]>> entries = rocksDBManager.rangeQuery(prefix, startKey, endKey, limit);
+        List<Map.Entry<byte[], byte[]>> entries = rocksDBManager.rangeQuery(handle(interval), prefix, startKey, endKey, limit);
 
-        return entries.stream()
-                .map(entry -> JSON.parseObject(entry.getValue(), KLine.class))
-                .collect(Collectors.toList());
+        List<KLine> result = new ArrayList<>(entries.size());
+        for (Map.Entry<byte[], byte[]> entry : entries) {
+            result.add(decode(exchange, symbol, interval, entry.getValue()));
+        }
+        return result;
     }
 
     @Override
     public KLine getLatest(String exchange, String symbol, KLineInterval interval) {
-        String prefix = buildPrefix(exchange, symbol, interval);
-        Map.Entry<String, byte[]> entry = rocksDBManager.getLatest(prefix);
+        int seriesId = seriesDictionary.getId(exchange, symbol, interval);
+        if (seriesId == KLineSeriesDictionary.NO_ID) {
+            return null;
+        }
+        Map.Entry<byte[], byte[]> entry = rocksDBManager.getLatest(
+                handle(interval), buildPrefix(seriesId), buildKey(seriesId, -1L));
         if (entry == null) {
             return null;
         }
-        return JSON.parseObject(entry.getValue(), KLine.class);
+        return decode(exchange, symbol, interval, entry.getValue());
+    }
+
+    /**
+     * 删除过期数据：对配置了 retention 的周期，按序列删除开盘时间早于截止时间的 K线
+     */
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<KLineInterval, ColumnFamilyTuning> entry : columnFamilies.entrySet()) {
+            Duration retention = entry.getValue().getRetention();
+            if (retention == null) {
+                continue;
+            }
+            KLineInterval interval = entry.getKey();
+            long cutoff = now - retention.toMillis();
+            try {
+                for (int seriesId : seriesDictionary.getIds(interval)) {
+                    rocksDBManager.deleteRange(handle(interval), buildKey(seriesId, 0L), buildKey(seriesId, cutoff));
+                }
+                log.debug("Purged KLine data of {} before {}", interval.getCode(), cutoff);
+            } catch (RocksDBException e) {
+                log.error("Failed to purge expired KLine data of {}", interval.getCode(), e);
+            }
+        }
+    }
+
+    private ColumnFamilyHandle handle(KLineInterval interval) {
+        return handles[interval.ordinal()];
+    }
+
+    /**
+     * 按 Value 实际格式解码，兼容历史 JSON 数据
+     */
+    private KLine decode(String exchange, String symbol, KLineInterval interval, byte[] value) {
+        return KLineValueFormat.detect(value).codec().decode(exchange, symbol, interval, value);
     }
 
     /**
      * 构建完整 Key
      */
-    private String buildKey(KLine kline) {
-        return buildPrefix(kline.getExchange(), kline.getSymbol(), kline.getInterval())
-                + padTimestamp(kline.getOpenTime());
+    private byte[] buildKey(KLine kline) throws RocksDBException {
+        int seriesId = seriesDictionary.getOrCreateId(kline.getExchange(), kline.getSymbol(), kline.getInterval());
+        return buildKey(seriesId, kline.getOpenTime());
+    }
+
+    /**
+     * 构建完整 Key：{seriesId}{openTime}
+     */
+    static byte[] buildKey(int seriesId, long openTime) {
+        byte[] key = new byte[KEY_LENGTH];
+        writeInt(key, 0, seriesId);
+        for (int i = KEY_LENGTH - 1; i >= SERIES_ID_LENGTH; i--) {
+            key[i] = (byte) openTime;
+            openTime >>>= 8;
+        }
+        return key;
     }
 
     /**
      * 构建 Key 前缀（不含时间戳）
      */
-    private String buildPrefix(String exchange, String symbol, KLineInterval interval) {
-        return exchange + ":" + symbol + ":" + interval.getCode() + ":";
+    static byte[] buildPrefix(int seriesId) {
+        byte[] prefix = new byte[SERIES_ID_LENGTH];
+        writeInt(prefix, 0, seriesId);
+        return prefix;
     }
 
+    private static void writeInt(byte[] buf, int offset, int value) {
+        buf[offset] = (byte) (value >>> 24);
+        buf[offset + 1] = (byte) (value >>> 16);
+        buf[offset + 2] = (byte) (value >>> 8);
+        buf[offset + 3] = (byte) value;
+    }
+
+    // ==================== 历史数据迁移 ====================
+
     /**
-     * 将时间戳填充为固定 19 位字符串，保证字典序 = 时间序
+     * 将默认 Column Family 中的历史数据迁移到对应周期的 Column Family：
+     * 文本 Key 转换为二进制 Key，Value 重编码为当前写入格式
      */
-    private String padTimestamp(long timestamp) {
-        return String.format("%0" + TIMESTAMP_LENGTH + "d", timestamp);
+    private void migrateLegacyKeys() {
+        int[] migrated = {0};
+        WriteBatch[] batch = {new WriteBatch()};
+        try {
+            rocksDBManager.forEach(rocksDBManager.defaultColumnFamily(), null, (key, value) -> {
+                try {
+                    if (key.length == KEY_LENGTH) {
+                        migrateBinaryEntry(batch[0], key, value);
+                    } else {
+                        migrateLegacyEntry(batch[0], key, value);
+                    }
+                    if (++migrated[0] % MIGRATE_BATCH_SIZE == 0) {
+                        rocksDBManager.write(batch[0]);
+                        batch[0].close();
+                        batch[0] = new WriteBatch();
+                    }
+                } catch (RocksDBException e) {
+                    throw new IllegalStateException("Failed to migrate legacy KLine keys", e);
+                }
+            });
+            if (batch[0].count() > 0) {
+                rocksDBManager.write(batch[0]);
+            }
+        } catch (RocksDBException e) {
+            throw new IllegalStateException("Failed to migrate legacy KLine keys", e);
+        } finally {
+            batch[0].close();
+        }
+        if (migrated[0] > 0) {
+            log.info("Migrated {} legacy KLine entries to per-interval column families", migrated[0]);
+        }
+    }
+
+    private void migrateBinaryEntry(WriteBatch batch, byte[] key, byte[] value) throws RocksDBException {
+        int seriesId = ((key[0] & 0xFF) << 24) | ((key[1] & 0xFF) << 16) | ((key[2] & 0xFF) << 8) | (key[3] & 0xFF);
+        KLineInterval interval = seriesDictionary.getInterval(seriesId);
+        if (interval == null) {
+            log.warn("Skip KLine entry of unknown series: {}", seriesId);
+            return;
+        }
+        batch.put(handle(interval), key, value);
+        batch.delete(rocksDBManager.defaultColumnFamily(), key);
+    }
+
+    private void migrateLegacyEntry(WriteBatch batch, byte[] legacyKey, byte[] value) throws RocksDBException {
+        // {exchange}:{symbol}:{interval}:{openTime}
+        String[] parts = new String(legacyKey, StandardCharsets.UTF_8).split(":");
+        if (parts.length != 4) {
+            log.warn("Skip unrecognized legacy KLine key: {}", new String(legacyKey, StandardCharsets.UTF_8));
+            return;
+        }
+        String exchange = parts[0];
+        String symbol = parts[1];
+        KLineInterval interval = KLineInterval.fromCode(parts[2]);
+        long openTime = Long.parseLong(parts[3]);
+
+        int seriesId = seriesDictionary.getOrCreateId(exchange, symbol, interval);
+        KLine kline = decode(exchange, symbol, interval, value);
+        batch.put(handle(interval), buildKey(seriesId, openTime), valueFormat.codec().encode(kline));
+        batch.delete(rocksDBManager.defaultColumnFamily(), legacyKey);
     }
 }
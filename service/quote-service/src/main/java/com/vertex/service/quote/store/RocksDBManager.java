@@ -7,25 +7,70 @@ import org.springframework.beans.factory.InitializingBean;
 
 import java.io.File;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
 
 /**
  * RocksDB 生命周期管理
+ * <p>
+ * 启动时打开数据目录下已存在的全部 Column Family 以及预先声明的 Column Family，
+ * 其余 Column Family 通过 {@link #getOrCreateColumnFamily(String)} 按需创建。
+ * 预先声明的 Column Family 可通过 {@link ColumnFamilyTuning} 单独设置写缓冲、压缩风格与 block cache。
+ * <p>
+ * 实例级参数见 {@link RocksDBTuning}：独占 cache 从 block cache 总预算中划出，
+ * 剩余部分作为公共 LRU block cache 供未声明独占 cache 的 Column Family 共享，
+ * index / filter block 计入 cache 并以高优先级缓存，L0 的 index / filter 常驻，
+ * 内存占用可预估；后台任务数、compaction 预读、Direct I/O 与写入限速用于压低 compaction 期间的读延迟抖动。
+ * Key 均为原始字节，由上层决定编码方式。
+ * <p>
+ * 配置 prefixLength 后启用定长前缀提取器：SST 与 memtable 的 bloom filter 按前缀构建，
+ * 前缀查询可直接跳过不含该前缀的文件；范围查询通过 iterate_upper_bound 由 RocksDB 自行截止。
  */
 @Slf4j
 public class RocksDBManager implements InitializingBean, DisposableBean {
 
+    /** memtable 前缀 bloom 占写缓冲的比例 */
+    private static final double MEMTABLE_PREFIX_BLOOM_RATIO = 0.1;
+
     private final String dataDir;
+    private final int prefixLength;
+    private final RocksDBTuning tuning;
+    private final Map<String, ColumnFamilyTuning> tunings;
     private RocksDB db;
+    private DBOptions dbOptions;
+    private ColumnFamilyOptions cfOptions;
+    private Cache sharedBlockCache;
+    private RateLimiter rateLimiter;
+    private ColumnFamilyHandle defaultHandle;
+    private final Map<String, ColumnFamilyHandle> handles = new ConcurrentHashMap<>();
+    /** 按 Column Family 创建的 Options / Cache，关闭时统一释放 */
+    private final List<AutoCloseable> resources = new ArrayList<>();
 
     static {
         RocksDB.loadLibrary();
     }
 
     public RocksDBManager(String dataDir) {
+        this(dataDir, 0);
+    }
+
+    public RocksDBManager(String dataDir, int prefixLength) {
+        this(dataDir, prefixLength, new RocksDBTuning(), Collections.emptyMap());
+    }
+
+    /**
+     * @param dataDir      数据目录
+     * @param prefixLength Key 前缀长度，0 表示不启用前缀提取器
+     * @param tuning       实例级调优参数
+     * @param tunings      预先声明的 Column Family 及其调优参数
+     */
+    public RocksDBManager(String dataDir, int prefixLength, RocksDBTuning tuning,
+                          Map<String, ColumnFamilyTuning> tunings) {
         this.dataDir = dataDir;
+        this.prefixLength = prefixLength;
+        this.tuning = tuning;
+        this.tunings = tunings;
     }
 
     @Override
@@ -35,152 +80,323 @@ public class RocksDBManager implements InitializingBean, DisposableBean {
             throw new RuntimeException("Failed to create RocksDB data directory: " + dataDir);
         }
 
-        Options options = new Options();
-        options.setCreateIfMissing(true);
-        options.setCompressionType(CompressionType.LZ4_COMPRESSION);
-        options.setBottommostCompressionType(CompressionType.ZSTD_COMPRESSION);
+        dbOptions = new DBOptions();
+        dbOptions.setCreateIfMissing(true);
+        dbOptions.setCreateMissingColumnFamilies(true);
 
-        // bloom filter 加速前缀查询
-        BlockBasedTableConfig tableConfig = new BlockBasedTableConfig();
-        tableConfig.setFilterPolicy(new BloomFilter(10, false));
-        tableConfig.setBlockSize(16 * 1024);
-        options.setTableFormatConfig(tableConfig);
+        // 后台任务与 compaction I/O
+        dbOptions.setMaxBackgroundJobs(tuning.getMaxBackgroundJobs());
+        dbOptions.setCompactionReadaheadSize(tuning.getCompactionReadaheadSize());
+        dbOptions.setUseDirectIoForFlushAndCompaction(tuning.isDirectIoForCompaction());
+        if (tuning.getRateLimitBytesPerSec() > 0) {
+            rateLimiter = new RateLimiter(tuning.getRateLimitBytesPerSec());
+            dbOptions.setRateLimiter(rateLimiter);
+        }
+
+        // 公共 block cache：总预算扣除各 Column Family 的独占 cache；numShardBits 自动，不严格限制容量
+        long dedicatedCacheSize = dedicatedBlockCacheSize();
+        long sharedCacheSize = tuning.getBlockCacheSize() - dedicatedCacheSize;
+        if (sharedCacheSize <= 0) {
+            throw new IllegalArgumentException("Dedicated block caches (" + dedicatedCacheSize
+                    + " bytes) exceed the total block cache size (" + tuning.getBlockCacheSize() + " bytes)");
+        }
+        sharedBlockCache = new LRUCache(sharedCacheSize, -1, false, tuning.getHighPriPoolRatio());
+
+        cfOptions = new ColumnFamilyOptions();
+        cfOptions.setCompressionType(CompressionType.LZ4_COMPRESSION);
+        cfOptions.setBottommostCompressionType(CompressionType.ZSTD_COMPRESSION);
+        if (prefixLength > 0) {
+            cfOptions.useFixedLengthPrefixExtractor(prefixLength);
+            cfOptions.setMemtablePrefixBloomSizeRatio(MEMTABLE_PREFIX_BLOOM_RATIO);
+        }
+        cfOptions.setTableFormatConfig(newTableConfig(0));
 
         // 写缓冲
-        options.setWriteBufferSize(64 * 1024 * 1024);
-        options.setMaxWriteBufferNumber(3);
+        cfOptions.setWriteBufferSize(64 * 1024 * 1024);
+        cfOptions.setMaxWriteBufferNumber(3);
+
+        // 打开已存在的以及预先声明的全部 Column Family
+        Set<String> names = new LinkedHashSet<>();
+        names.add(new String(RocksDB.DEFAULT_COLUMN_FAMILY, StandardCharsets.UTF_8));
+        try (Options listOptions = new Options()) {
+            for (byte[] name : RocksDB.listColumnFamilies(listOptions, dataDir)) {
+                names.add(new String(name, StandardCharsets.UTF_8));
+            }
+        }
+        names.addAll(tunings.keySet());
 
-        db = RocksDB.open(options, dataDir);
-        log.info("RocksDB opened at: {}", dataDir);
+        List<ColumnFamilyDescriptor> descriptors = new ArrayList<>();
+        for (String name : names) {
+            descriptors.add(new ColumnFamilyDescriptor(name.getBytes(StandardCharsets.UTF_8), optionsFor(name)));
+        }
+
+        List<ColumnFamilyHandle> openedHandles = new ArrayList<>();
+        db = RocksDB.open(dbOptions, dataDir, descriptors, openedHandles);
+        for (ColumnFamilyHandle handle : openedHandles) {
+            String name = new String(handle.getName(), StandardCharsets.UTF_8);
+            handles.put(name, handle);
+        }
+        defaultHandle = db.getDefaultColumnFamily();
+        log.info("RocksDB opened at: {}, prefix length: {}, tuning: {}, shared block cache: {} bytes, "
+                        + "dedicated block caches: {} bytes, column families: {}",
+                dataDir, prefixLength, tuning, sharedCacheSize, dedicatedCacheSize, handles.keySet());
     }
 
     @Override
     public void destroy() {
         if (db != null) {
+            handles.values().forEach(ColumnFamilyHandle::close);
+            handles.clear();
             db.close();
+            dbOptions.close();
+            cfOptions.close();
+            sharedBlockCache.close();
+            if (rateLimiter != null) {
+                rateLimiter.close();
+            }
+            for (AutoCloseable resource : resources) {
+                try {
+                    resource.close();
+                } catch (Exception e) {
+                    log.warn("Failed to release RocksDB resource", e);
+                }
+            }
+            resources.clear();
             log.info("RocksDB closed");
         }
     }
 
+    /**
+     * 预先声明的 Column Family 独占 block cache 总和
+     */
+    private long dedicatedBlockCacheSize() {
+        long total = 0;
+        for (ColumnFamilyTuning columnFamily : tunings.values()) {
+            if (columnFamily.getBlockCacheSize() != null && columnFamily.getBlockCacheSize() > 0) {
+                total += columnFamily.getBlockCacheSize();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 构建 Column Family 的 Options：未声明调优的沿用公共 Options
+     */
+    private ColumnFamilyOptions optionsFor(String name) {
+        ColumnFamilyTuning tuning = tunings.get(name);
+        if (tuning == null) {
+            return cfOptions;
+        }
+        ColumnFamilyOptions options = new ColumnFamilyOptions(cfOptions);
+        resources.add(options);
+        if (tuning.getWriteBufferSize() != null) {
+            options.setWriteBufferSize(tuning.getWriteBufferSize());
+        }
+        if (tuning.getMaxWriteBufferNumber() != null) {
+            options.setMaxWriteBufferNumber(tuning.getMaxWriteBufferNumber());
+        }
+        if (tuning.getCompactionStyle() != null) {
+            options.setCompactionStyle(tuning.getCompactionStyle());
+        }
+        long blockCacheSize = tuning.getBlockCacheSize() != null ? tuning.getBlockCacheSize() : 0;
+        options.setTableFormatConfig(newTableConfig(blockCacheSize));
+        return options;
+    }
+
+    /**
+     * @param blockCacheSize 独占 block cache 大小，0 表示使用公共 block cache
+     */
+    private BlockBasedTableConfig newTableConfig(long blockCacheSize) {
+        // bloom filter 加速前缀查询
+        BlockBasedTableConfig tableConfig = new BlockBasedTableConfig();
+        tableConfig.setFilterPolicy(new BloomFilter(10, false));
+        tableConfig.setBlockSize(16 * 1024);
+        if (prefixLength > 0) {
+            // 只按前缀构建 filter，不为每条 Key 单独记录
+            tableConfig.setWholeKeyFiltering(false);
+        }
+        if (blockCacheSize > 0) {
+            LRUCache cache = new LRUCache(blockCacheSize, -1, false, tuning.getHighPriPoolRatio());
+            resources.add(cache);
+            tableConfig.setBlockCache(cache);
+        } else {
+            tableConfig.setBlockCache(sharedBlockCache);
+        }
+
+        // index / filter 计入 block cache，高优先级缓存，L0 常驻
+        tableConfig.setCacheIndexAndFilterBlocks(true);
+        tableConfig.setCacheIndexAndFilterBlocksWithHighPriority(true);
+        tableConfig.setPinL0FilterAndIndexBlocksInCache(true);
+        if (tuning.isPartitionedFilters()) {
+            tableConfig.setIndexType(IndexType.kTwoLevelIndexSearch);
+            tableConfig.setPartitionFilters(true);
+            tableConfig.setPinTopLevelIndexAndFilter(true);
+        }
+        return tableConfig;
+    }
+
+    /**
+     * 获取 Column Family，不存在时创建
+     */
+    public ColumnFamilyHandle getOrCreateColumnFamily(String name) throws RocksDBException {
+        ColumnFamilyHandle handle = handles.get(name);
+        if (handle != null) {
+            return handle;
+        }
+        synchronized (handles) {
+            handle = handles.get(name);
+            if (handle == null) {
+                handle = db.createColumnFamily(
+                        new ColumnFamilyDescriptor(name.getBytes(StandardCharsets.UTF_8), optionsFor(name)));
+                handles.put(name, handle);
+                log.info("RocksDB column family created: {}", name);
+            }
+            return handle;
+        }
+    }
+
+    /**
+     * 默认 Column Family
+     */
+    public ColumnFamilyHandle defaultColumnFamily() {
+        return defaultHandle;
+    }
+
     /**
      * 写入数据
      */
-    public void put(String key, byte[] value) throws RocksDBException {
-        db.put(key.getBytes(StandardCharsets.UTF_8), value);
+    public void put(ColumnFamilyHandle cf, byte[] key, byte[] value) throws RocksDBException {
+        db.put(cf, key, value);
+    }
+
+    /**
+     * 按指定 WriteOptions 写入数据
+     */
+    public void put(WriteOptions writeOptions, ColumnFamilyHandle cf, byte[] key, byte[] value) throws RocksDBException {
+        db.put(cf, writeOptions, key, value);
     }
 
     /**
      * 读取数据
      */
-    public byte[] get(String key) throws RocksDBException {
-        return db.get(key.getBytes(StandardCharsets.UTF_8));
+    public byte[] get(ColumnFamilyHandle cf, byte[] key) throws RocksDBException {
+        return db.get(cf, key);
     }
 
     /**
      * 删除数据
      */
-    public void delete(String key) throws RocksDBException {
-        db.delete(key.getBytes(StandardCharsets.UTF_8));
+    public void delete(ColumnFamilyHandle cf, byte[] key) throws RocksDBException {
+        db.delete(cf, key);
     }
 
     /**
-     * 批量写入
+     * 范围删除 [beginKey, endKey)
      */
-    public void putBatch(Map<String, byte[]> entries) throws RocksDBException {
-        try (WriteBatch batch = new WriteBatch();
-             WriteOptions writeOptions = new WriteOptions()) {
-            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
-                batch.put(entry.getKey().getBytes(StandardCharsets.UTF_8), entry.getValue());
-            }
+    public void deleteRange(ColumnFamilyHandle cf, byte[] beginKey, byte[] endKey) throws RocksDBException {
+        db.deleteRange(cf, beginKey, endKey);
+    }
+
+    /**
+     * 提交 WriteBatch
+     */
+    public void write(WriteBatch batch) throws RocksDBException {
+        try (WriteOptions writeOptions = new WriteOptions()) {
             db.write(writeOptions, batch);
         }
     }
 
+    /**
+     * 按指定 WriteOptions 提交 WriteBatch
+     */
+    public void write(WriteOptions writeOptions, WriteBatch batch) throws RocksDBException {
+        db.write(writeOptions, batch);
+    }
+
+    /**
+     * 顺序遍历 Column Family（全序遍历，不受前缀提取器限制）
+     *
+     * @param startKey 起始 key（含），为 null 则从头开始
+     */
+    public void forEach(ColumnFamilyHandle cf, byte[] startKey, BiConsumer<byte[], byte[]> consumer) {
+        try (ReadOptions readOptions = new ReadOptions().setTotalOrderSeek(true);
+             RocksIterator iterator = db.newIterator(cf, readOptions)) {
+            if (startKey != null) {
+                iterator.seek(startKey);
+            } else {
+                iterator.seekToFirst();
+            }
+            for (; iterator.isValid(); iterator.next()) {
+                consumer.accept(iterator.key(), iterator.value());
+            }
+        }
+    }
+
     /**
      * 前缀范围查询
+     * <p>
+     * 上界通过 iterate_upper_bound 下推给 RocksDB，迭代器到达上界即失效，无需逐条比较 Key。
      *
+     * @param cf        Column Family
      * @param prefix    前缀
      * @param startKey  起始 key（含），为 null 则从 prefix 开始
      * @param endKey    结束 key（含），为 null 则查到 prefix 范围结束
      * @param limit     最大条数
      * @return key-value 列表
      */
-    public List<Map.Entry<String, byte[]>> rangeQuery(String prefix, String startKey, String endKey, int limit) {
-        List<Map.Entry<String, byte[]>> results = new ArrayList<>();
-        byte[] prefixBytes = prefix.getBytes(StandardCharsets.UTF_8);
-
-        try (ReadOptions readOptions = new ReadOptions()) {
-            readOptions.setPrefixSameAsStart(true);
-            readOptions.setTotalOrderSeek(false);
-
-            try (RocksIterator iterator = db.newIterator(readOptions)) {
-                byte[] seekKey = startKey != null
-                        ? startKey.getBytes(StandardCharsets.UTF_8)
-                        : prefixBytes;
-                iterator.seek(seekKey);
-
-                byte[] endKeyBytes = endKey != null ? endKey.getBytes(StandardCharsets.UTF_8) : null;
-
-                while (iterator.isValid() && results.size() < limit) {
-                    byte[] keyBytes = iterator.key();
-                    String key = new String(keyBytes, StandardCharsets.UTF_8);
+    public List<Map.Entry<byte[], byte[]>> rangeQuery(ColumnFamilyHandle cf, byte[] prefix,
+                                                      byte[] startKey, byte[] endKey, int limit) {
+        List<Map.Entry<byte[], byte[]>> results = new ArrayList<>();
+        // endKey 为闭区间，其紧邻的下一个 Key 即为开区间上界
+        byte[] upperBound = endKey != null ? successor(endKey) : incrementPrefix(prefix);
 
-                    // 检查是否还在前缀范围内
-                    if (!key.startsWith(prefix)) {
-                        break;
-                    }
+        try (Slice upperSlice = new Slice(upperBound);
+             ReadOptions readOptions = new ReadOptions()
+                     .setPrefixSameAsStart(true)
+                     .setTotalOrderSeek(false)
+                     .setIterateUpperBound(upperSlice);
+             RocksIterator iterator = db.newIterator(cf, readOptions)) {
+            iterator.seek(startKey != null ? startKey : prefix);
 
-                    // 检查是否超过 endKey
-                    if (endKeyBytes != null && compareBytes(keyBytes, endKeyBytes) > 0) {
-                        break;
-                    }
-
-                    results.add(Map.entry(key, iterator.value()));
-                    iterator.next();
-                }
+            while (iterator.isValid() && results.size() < limit) {
+                results.add(Map.entry(iterator.key(), iterator.value()));
+                iterator.next();
             }
         }
         return results;
     }
 
     /**
-     * 反向查询（获取最新数据）
+     * 反向查询（获取前缀范围内 ≤ maxKey 的最后一条）
+     *
+     * @param cf     Column Family
+     * @param prefix 前缀
+     * @param maxKey 前缀范围内可能的最大 key，与 prefix 同前缀
      */
-    public Map.Entry<String, byte[]> getLatest(String prefix) {
-        byte[] prefixBytes = prefix.getBytes(StandardCharsets.UTF_8);
-
-        try (ReadOptions readOptions = new ReadOptions()) {
-            readOptions.setPrefixSameAsStart(true);
-
-            try (RocksIterator iterator = db.newIterator(readOptions)) {
-                // seek 到 prefix 后的下一个范围，然后 prev
-                byte[] upperBound = incrementPrefix(prefixBytes);
-                iterator.seek(upperBound);
-
-                if (iterator.isValid()) {
-                    iterator.prev();
-                } else {
-                    iterator.seekToLast();
-                }
-
-                if (iterator.isValid()) {
-                    String key = new String(iterator.key(), StandardCharsets.UTF_8);
-                    if (key.startsWith(prefix)) {
-                        return Map.entry(key, iterator.value());
-                    }
-                }
+    public Map.Entry<byte[], byte[]> getLatest(ColumnFamilyHandle cf, byte[] prefix, byte[] maxKey) {
+        try (Slice lowerSlice = new Slice(prefix);
+             Slice upperSlice = new Slice(incrementPrefix(prefix));
+             ReadOptions readOptions = new ReadOptions()
+                     .setPrefixSameAsStart(true)
+                     .setIterateLowerBound(lowerSlice)
+                     .setIterateUpperBound(upperSlice);
+             RocksIterator iterator = db.newIterator(cf, readOptions)) {
+            // maxKey 与 prefix 同前缀，seekForPrev 可走前缀 bloom
+            iterator.seekForPrev(maxKey);
+            if (iterator.isValid()) {
+                return Map.entry(iterator.key(), iterator.value());
             }
         }
         return null;
     }
 
-    private int compareBytes(byte[] a, byte[] b) {
-        int len = Math.min(a.length, b.length);
-        for (int i = 0; i < len; i++) {
-            int cmp = Byte.toUnsignedInt(a[i]) - Byte.toUnsignedInt(b[i]);
-            if (cmp != 0) return cmp;
-        }
-        return a.length - b.length;
+    /**
+     * 字节序上紧邻 key 的下一个 key
+     */
+    private byte[] successor(byte[] key) {
+        byte[] result = new byte[key.length + 1];
+        System.arraycopy(key, 0, result, 0, key.length);
+        return result;
     }
 
     private byte[] incrementPrefix(byte[] prefix) {
@@ -0,0 +1,38 @@
+package com.vertex.service.quote.store;
+
+import lombok.Data;
+
+/**
+ * RocksDB 实例级调优参数
+ * <p>
+ * 打开数据库时一次性生效。{@link #blockCacheSize} 为全部 block cache 的总预算：
+ * 声明了独占 cache 的 Column Family（见 {@link ColumnFamilyTuning#getBlockCacheSize()}）从中划出，
+ * 剩余部分作为公共 cache 供其余 Column Family 共享。index / filter block 也计入 cache，
+ * RocksDB 读路径内存上限即为 {@link #blockCacheSize}。
+ */
+@Data
+public class RocksDBTuning {
+
+    private static final long MB = 1024L * 1024;
+
+    /** block cache 总大小（字节），含各 Column Family 的独占 cache */
+    private long blockCacheSize = 256 * MB;
+
+    /** block cache 高优先级池占比，index / filter block 放入高优先级池，不易被数据块挤出 */
+    private double highPriPoolRatio = 0.1;
+
+    /** 是否启用分区 index / filter：大 SST 只需常驻顶层索引，按需加载分区 */
+    private boolean partitionedFilters = false;
+
+    /** flush + compaction 后台线程总数 */
+    private int maxBackgroundJobs = 4;
+
+    /** compaction 预读大小（字节），0 表示不预读 */
+    private long compactionReadaheadSize = 2 * MB;
+
+    /** flush / compaction 是否使用 Direct I/O，避免后台 I/O 污染 page cache */
+    private boolean directIoForCompaction = false;
+
+    /** flush / compaction 写入限速（字节/秒），0 表示不限速 */
+    private long rateLimitBytesPerSec = 0;
+}
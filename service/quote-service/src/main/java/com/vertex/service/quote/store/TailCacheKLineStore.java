@@ -0,0 +1,285 @@
+package com.vertex.service.quote.store;
+
+import com.vertex.model.entity.quote.KLine;
+import com.vertex.model.entity.quote.KLineInterval;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 热点尾部缓存装饰器
+ * <p>
+ * 为每个活跃序列在内存中保留最近 capacity 根 K线（环形缓冲，开盘时间存放在 long[] 中便于二分），
+ * 写路径同步更新。{@link #getLatest} 与起始时间落在缓存范围内的范围查询直接由内存返回，
+ * 更早的数据才回落到被装饰存储。
+ * <p>
+ * 缓冲只在写路径上创建：序列首次写入时以被装饰存储的最新一根 K线作为种子，此后所有写入都经过本装饰器，
+ * 因此缓存对 [最早缓存开盘时间, +∞) 区间是完整的。读路径不创建缓冲，未写入过的序列直接回落到存储并计为未命中，
+ * 任意 symbol 的查询不会让缓存无界增长。
+ * 生命周期会转发给被装饰存储。
+ */
+@Slf4j
+public class TailCacheKLineStore implements KLineStore, InitializingBean, DisposableBean {
+
+    private final KLineStore delegate;
+    private final int capacity;
+
+    private final Map<SeriesKey, TailRing> rings = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param delegate 被装饰的存储
+     * @param capacity 每个序列缓存的 K线根数
+     */
+    public TailCacheKLineStore(KLineStore delegate, int capacity) {
+        this.delegate = delegate;
+        this.capacity = capacity;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (delegate instanceof InitializingBean initializingBean) {
+            initializingBean.afterPropertiesSet();
+        }
+        log.info("KLine tail cache enabled, capacity per series: {}", capacity);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        rings.clear();
+        if (delegate instanceof DisposableBean disposableBean) {
+            disposableBean.destroy();
+        }
+    }
+
+    @Override
+    public void save(KLine kline) {
+        delegate.save(kline);
+        writeRing(kline.getExchange(), kline.getSymbol(), kline.getInterval()).put(kline);
+    }
+
+    @Override
+    public void saveBatch(List<KLine> klines) {
+        delegate.saveBatch(klines);
+        for (KLine kline : klines) {
+            writeRing(kline.getExchange(), kline.getSymbol(), kline.getInterval()).put(kline);
+        }
+    }
+
+    @Override
+    public List<KLine> query(String exchange, String symbol, KLineInterval interval,
+                             Long startTime, Long endTime, int limit) {
+        TailRing ring = rings.get(new SeriesKey(exchange, symbol, interval));
+        if (ring != null && startTime != null) {
+            List<KLine> cached = ring.range(startTime, endTime, limit);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+        return delegate.query(exchange, symbol, interval, startTime, endTime, limit);
+    }
+
+    @Override
+    public KLine getLatest(String exchange, String symbol, KLineInterval interval) {
+        TailRing ring = rings.get(new SeriesKey(exchange, symbol, interval));
+        KLine latest = ring != null ? ring.latest() : null;
+        if (latest != null) {
+            hits.increment();
+            return latest;
+        }
+        misses.increment();
+        return delegate.getLatest(exchange, symbol, interval);
+    }
+
+    // ==================== 指标 ====================
+
+    /** 已缓存的序列数 */
+    public int getSeriesCount() {
+        return rings.size();
+    }
+
+    /** 内存命中次数 */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /** 回落到被装饰存储的次数 */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * 获取写入序列的环形缓冲，首次写入时以被装饰存储的最新 K线作为种子
+     * <p>
+     * 种子在 computeIfAbsent 之外读取，避免在 ConcurrentHashMap 的桶锁内访问存储；
+     * 并发创建时只有一个缓冲生效。
+     */
+    private TailRing writeRing(String exchange, String symbol, KLineInterval interval) {
+        SeriesKey key = new SeriesKey(exchange, symbol, interval);
+        TailRing ring = rings.get(key);
+        if (ring != null) {
+            return ring;
+        }
+        TailRing created = new TailRing(capacity);
+        KLine latest = delegate.getLatest(exchange, symbol, interval);
+        if (latest != null) {
+            created.put(latest);
+        }
+        TailRing existing = rings.putIfAbsent(key, created);
+        return existing != null ? existing : created;
+    }
+
+    /**
+     * 序列标识
+     */
+    private record SeriesKey(String exchange, String symbol, KLineInterval interval) {
+    }
+
+    /**
+     * 按开盘时间升序的定长环形缓冲
+     * <p>
+     * floor 为缓存完整区间的下界：早于 floor 的写入不进入缓存，查询起点早于 floor 时回落到存储。
+     */
+    private static final class TailRing {
+
+        private final long[] openTimes;
+        private final KLine[] candles;
+        /** 最早一根的物理下标 */
+        private int head;
+        private int size;
+        private long floor = Long.MAX_VALUE;
+
+        TailRing(int capacity) {
+            this.openTimes = new long[capacity];
+            this.candles = new KLine[capacity];
+        }
+
+        synchronized KLine latest() {
+            return size > 0 ? candles[index(size - 1)] : null;
+        }
+
+        synchronized void put(KLine kline) {
+            long openTime = kline.getOpenTime();
+            if (size == 0) {
+                append(openTime, kline);
+                floor = openTime;
+                return;
+            }
+            long newest = openTimes[index(size - 1)];
+            if (openTime > newest) {
+                append(openTime, kline);
+                return;
+            }
+            if (openTime < floor) {
+                return;
+            }
+            int pos = search(openTime);
+            if (pos >= 0) {
+                candles[index(pos)] = kline;
+                return;
+            }
+            insert(-pos - 1, openTime, kline);
+        }
+
+        /**
+         * 内存范围查询，起点早于缓存下界时返回 null
+         */
+        synchronized List<KLine> range(long startTime, Long endTime, int limit) {
+            if (size == 0 || startTime < floor) {
+                return null;
+            }
+            int from = search(startTime);
+            if (from < 0) {
+                from = -from - 1;
+            }
+            if (from >= size) {
+                return Collections.emptyList();
+            }
+            List<KLine> result = new ArrayList<>(Math.min(limit, size - from));
+            for (int i = from; i < size && result.size() < limit; i++) {
+                int idx = index(i);
+                if (endTime != null && openTimes[idx] > endTime) {
+                    break;
+                }
+                result.add(candles[idx]);
+            }
+            return result;
+        }
+
+        private void append(long openTime, KLine kline) {
+            if (size == openTimes.length) {
+                evictOldest();
+            }
+            int idx = index(size);
+            openTimes[idx] = openTime;
+            candles[idx] = kline;
+            size++;
+        }
+
+        /**
+         * 在逻辑位置 pos 插入（补齐缺口，较少发生），缓冲已满时先淘汰最早一根
+         */
+        private void insert(int pos, long openTime, KLine kline) {
+            if (size == openTimes.length) {
+                evictOldest();
+                if (pos == 0) {
+                    return;
+                }
+                pos--;
+            }
+            for (int i = size; i > pos; i--) {
+                int to = index(i);
+                int from = index(i - 1);
+                openTimes[to] = openTimes[from];
+                candles[to] = candles[from];
+            }
+            int idx = index(pos);
+            openTimes[idx] = openTime;
+            candles[idx] = kline;
+            size++;
+            floor = openTimes[head];
+        }
+
+        private void evictOldest() {
+            candles[head] = null;
+            head = (head + 1) % openTimes.length;
+            size--;
+            floor = openTimes[head];
+        }
+
+        /**
+         * 按开盘时间二分查找逻辑位置，未找到时返回 -(插入位置) - 1
+         */
+        private int search(long openTime) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                long value = openTimes[index(mid)];
+                if (value < openTime) {
+                    low = mid + 1;
+                } else if (value > openTime) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private int index(int logical) {
+            return (head + logical) % openTimes.length;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.vertex.service.quote.store;
+
+import org.rocksdb.WriteOptions;
+
+/**
+ * K线写入持久化级别
+ */
+public enum WriteDurability {
+
+    /** 写 WAL 但不 fsync：进程崩溃不丢数据，机器掉电可能丢失最近写入（默认） */
+    WAL,
+
+    /** 写 WAL 并 fsync：每次提交落盘，吞吐最低 */
+    SYNC,
+
+    /** 不写 WAL：崩溃丢失全部未 flush 的 memtable 数据，可由 REST 补齐 */
+    NO_WAL;
+
+    /**
+     * 创建对应的 WriteOptions，由调用方负责关闭
+     */
+    public WriteOptions newWriteOptions() {
+        WriteOptions options = new WriteOptions();
+        options.setSync(this == SYNC);
+        options.setDisableWAL(this == NO_WAL);
+        return options;
+    }
+}
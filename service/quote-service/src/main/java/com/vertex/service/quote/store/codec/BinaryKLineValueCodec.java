@@ -0,0 +1,251 @@
+package com.vertex.service.quote.store.codec;
+
+import com.vertex.model.entity.quote.KLine;
+import com.vertex.model.entity.quote.KLineInterval;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * 紧凑二进制 Value 编解码器
+ * <p>
+ * V1 布局：
+ * <pre>
+ * [version:1B][flags:1B][openTime:varint][closeTime-openTime:varint]?[trades:varint]?
+ * [open][high][low][close][volume][quoteVolume]
+ * </pre>
+ * flags：bit0 closed 取值，bit1 closed 非空，bit2 closeTime 非空，bit3 trades 非空。
+ * <p>
+ * 价格/数量按 (scale, unscaled) 存储，头部 varint = zigzag(scale) &lt;&lt; 2 | tag：
+ * tag=0 为 null，tag=1 时尾随 zigzag varint 的 long 尾数，
+ * tag=2 时尾随 varint 长度 + BigInteger 补码字节（尾数超出 long 范围时使用）。
+ * 保留原始 scale，解码结果与写入的 BigDecimal 完全一致。
+ */
+public class BinaryKLineValueCodec implements KLineValueCodec {
+
+    /** 当前格式版本，同时作为首字节与 JSON 的 '{' 区分 */
+    public static final byte VERSION_1 = 0x01;
+
+    private static final int FLAG_CLOSED = 1;
+    private static final int FLAG_CLOSED_PRESENT = 1 << 1;
+    private static final int FLAG_CLOSE_TIME_PRESENT = 1 << 2;
+    private static final int FLAG_TRADES_PRESENT = 1 << 3;
+
+    private static final int TAG_NULL = 0;
+    private static final int TAG_LONG = 1;
+    private static final int TAG_BIG = 2;
+
+    /** 常见 K线编码后约 40~60 字节 */
+    private static final int INITIAL_BUFFER_SIZE = 96;
+
+    /**
+     * 是否为二进制格式 Value
+     */
+    public static boolean isBinary(byte[] value) {
+        return value != null && value.length > 0 && value[0] == VERSION_1;
+    }
+
+    @Override
+    public byte[] encode(KLine kline) {
+        Writer out = new Writer(INITIAL_BUFFER_SIZE);
+
+        int flags = 0;
+        if (kline.getClosed() != null) {
+            flags |= FLAG_CLOSED_PRESENT;
+            if (kline.getClosed()) {
+                flags |= FLAG_CLOSED;
+            }
+        }
+        if (kline.getCloseTime() != null) {
+            flags |= FLAG_CLOSE_TIME_PRESENT;
+        }
+        if (kline.getTrades() != null) {
+            flags |= FLAG_TRADES_PRESENT;
+        }
+
+        long openTime = kline.getOpenTime();
+        out.writeByte(VERSION_1);
+        out.writeByte(flags);
+        out.writeSignedVarLong(openTime);
+        if (kline.getCloseTime() != null) {
+            out.writeSignedVarLong(kline.getCloseTime() - openTime);
+        }
+        if (kline.getTrades() != null) {
+            out.writeSignedVarLong(kline.getTrades());
+        }
+
+        writeDecimal(out, kline.getOpen());
+        writeDecimal(out, kline.getHigh());
+        writeDecimal(out, kline.getLow());
+        writeDecimal(out, kline.getClose());
+        writeDecimal(out, kline.getVolume());
+        writeDecimal(out, kline.getQuoteVolume());
+        return out.toByteArray();
+    }
+
+    @Override
+    public KLine decode(String exchange, String symbol, KLineInterval interval, byte[] value) {
+        if (!isBinary(value)) {
+            throw new IllegalArgumentException("Unsupported KLine value version: "
+                    + (value == null || value.length == 0 ? "empty" : value[0]));
+        }
+        Reader in = new Reader(value, 1);
+
+        int flags = in.readByte();
+        long openTime = in.readSignedVarLong();
+        Long closeTime = (flags & FLAG_CLOSE_TIME_PRESENT) != 0 ? openTime + in.readSignedVarLong() : null;
+        Integer trades = (flags & FLAG_TRADES_PRESENT) != 0 ? (int) in.readSignedVarLong() : null;
+        Boolean closed = (flags & FLAG_CLOSED_PRESENT) != 0 ? (flags & FLAG_CLOSED) != 0 : null;
+
+        return KLine.builder()
+                .exchange(exchange)
+                .symbol(symbol)
+                .interval(interval)
+                .openTime(openTime)
+                .closeTime(closeTime)
+                .open(readDecimal(in))
+                .high(readDecimal(in))
+                .low(readDecimal(in))
+                .close(readDecimal(in))
+                .volume(readDecimal(in))
+                .quoteVolume(readDecimal(in))
+                .trades(trades)
+                .closed(closed)
+                .build();
+    }
+
+    // ==================== BigDecimal ====================
+
+    private void writeDecimal(Writer out, BigDecimal value) {
+        if (value == null) {
+            out.writeVarLong(TAG_NULL);
+            return;
+        }
+        long scaleBits = zigzag(value.scale()) << 2;
+        BigInteger unscaled = value.unscaledValue();
+        if (unscaled.bitLength() < Long.SIZE) {
+            out.writeVarLong(scaleBits | TAG_LONG);
+            out.writeSignedVarLong(unscaled.longValue());
+        } else {
+            byte[] bytes = unscaled.toByteArray();
+            out.writeVarLong(scaleBits | TAG_BIG);
+            out.writeVarLong(bytes.length);
+            out.writeBytes(bytes);
+        }
+    }
+
+    private BigDecimal readDecimal(Reader in) {
+        long header = in.readVarLong();
+        int tag = (int) (header & 0x3);
+        if (tag == TAG_NULL) {
+            return null;
+        }
+        int scale = (int) unzigzag(header >>> 2);
+        if (tag == TAG_LONG) {
+            return BigDecimal.valueOf(in.readSignedVarLong(), scale);
+        }
+        if (tag == TAG_BIG) {
+            int length = (int) in.readVarLong();
+            return new BigDecimal(new BigInteger(in.readBytes(length)), scale);
+        }
+        throw new IllegalArgumentException("Unknown decimal tag: " + tag);
+    }
+
+    // ==================== VarInt ====================
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * 可扩容的写缓冲
+     */
+    private static final class Writer {
+
+        private byte[] buf;
+        private int pos;
+
+        Writer(int initialSize) {
+            this.buf = new byte[initialSize];
+        }
+
+        void writeByte(int b) {
+            ensureCapacity(1);
+            buf[pos++] = (byte) b;
+        }
+
+        void writeBytes(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buf, pos, bytes.length);
+            pos += bytes.length;
+        }
+
+        void writeSignedVarLong(long value) {
+            writeVarLong(zigzag(value));
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[pos++] = (byte) value;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, pos);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (pos + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + extra));
+            }
+        }
+    }
+
+    /**
+     * 顺序读游标
+     */
+    private static final class Reader {
+
+        private final byte[] buf;
+        private int pos;
+
+        Reader(byte[] buf, int pos) {
+            this.buf = buf;
+            this.pos = pos;
+        }
+
+        int readByte() {
+            return buf[pos++] & 0xFF;
+        }
+
+        byte[] readBytes(int length) {
+            byte[] bytes = Arrays.copyOfRange(buf, pos, pos + length);
+            pos += length;
+            return bytes;
+        }
+
+        long readSignedVarLong() {
+            return unzigzag(readVarLong());
+        }
+
+        long readVarLong() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = buf[pos++];
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint at position " + pos);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.vertex.service.quote.store.codec;
+
+import com.alibaba.fastjson2.JSON;
+import com.vertex.model.entity.quote.KLine;
+import com.vertex.model.entity.quote.KLineInterval;
+
+/**
+ * JSON 格式 Value 编解码器（历史格式）
+ * <p>
+ * 完整序列化 KLine 对象，Value 中冗余了 exchange / symbol / interval。
+ * 保留用于读取存量数据以及必要时回退写入格式。
+ */
+public class JsonKLineValueCodec implements KLineValueCodec {
+
+    @Override
+    public byte[] encode(KLine kline) {
+        return JSON.toJSONBytes(kline);
+    }
+
+    @Override
+    public KLine decode(String exchange, String symbol, KLineInterval interval, byte[] value) {
+        return JSON.parseObject(value, KLine.class);
+    }
+}
@@ -0,0 +1,28 @@
+package com.vertex.service.quote.store.codec;
+
+import com.vertex.model.entity.quote.KLine;
+import com.vertex.model.entity.quote.KLineInterval;
+
+/**
+ * K线 Value 编解码器
+ * <p>
+ * exchange / symbol / interval 已包含在 Key 中，Value 只需承载行情字段，
+ * 解码时由调用方从 Key 侧回填。
+ */
+public interface KLineValueCodec {
+
+    /**
+     * 编码 K线为存储 Value
+     */
+    byte[] encode(KLine kline);
+
+    /**
+     * 解码存储 Value 为 K线
+     *
+     * @param exchange 交易所（来自 Key）
+     * @param symbol   交易对（来自 Key）
+     * @param interval K线周期（来自 Key）
+     * @param value    存储 Value
+     */
+    KLine decode(String exchange, String symbol, KLineInterval interval, byte[] value);
+}
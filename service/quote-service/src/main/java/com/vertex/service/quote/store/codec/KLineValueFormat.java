@@ -0,0 +1,33 @@
+package com.vertex.service.quote.store.codec;
+
+/**
+ * K线 Value 存储格式
+ * <p>
+ * 读取时按首字节自动识别格式：二进制格式首字节为版本号（小于 0x20），
+ * JSON 格式首字节为 '{'，因此切换写入格式无需迁移存量数据。
+ */
+public enum KLineValueFormat {
+
+    /** JSON 文本格式（历史格式） */
+    JSON(new JsonKLineValueCodec()),
+
+    /** 紧凑二进制格式 */
+    BINARY(new BinaryKLineValueCodec());
+
+    private final KLineValueCodec codec;
+
+    KLineValueFormat(KLineValueCodec codec) {
+        this.codec = codec;
+    }
+
+    public KLineValueCodec codec() {
+        return codec;
+    }
+
+    /**
+     * 根据 Value 内容识别存储格式
+     */
+    public static KLineValueFormat detect(byte[] value) {
+        return BinaryKLineValueCodec.isBinary(value) ? BINARY : JSON;
+    }
+}
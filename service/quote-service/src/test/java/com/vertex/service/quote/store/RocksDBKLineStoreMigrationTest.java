@@ -0,0 +1,144 @@
+package com.vertex.service.quote.store;
+
+import com.alibaba.fastjson2.JSON;
+import com.vertex.model.entity.quote.KLine;
+import com.vertex.model.entity.quote.KLineInterval;
+import com.vertex.service.quote.store.codec.KLineValueFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RocksDBKLineStoreMigrationTest {
+
+    private static final String BINANCE = "binance";
+    private static final String OKX = "okx";
+    private static final String BTC = "BTC-USDT";
+    private static final String ETH = "ETH-USDT";
+    private static final long BASE_TIME = 1700000000000L;
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void migratesBaselineEntriesToPerIntervalColumnFamilies() throws Exception {
+        List<KLine> btc1m = series(BINANCE, BTC, KLineInterval.M1, 30);
+        List<KLine> btc1h = series(BINANCE, BTC, KLineInterval.H1, 5);
+        List<KLine> eth1m = series(OKX, ETH, KLineInterval.M1, 3);
+        // 未完结且缺少可选字段的 K线
+        eth1m.get(2).setClosed(null);
+        eth1m.get(2).setTrades(null);
+        eth1m.get(2).setQuoteVolume(null);
+        seedBaseline(btc1m, btc1h, eth1m);
+
+        Map<KLineInterval, ColumnFamilyTuning> columnFamilies = KLineColumnFamilies.resolve(null);
+        RocksDBManager manager = open(columnFamilies);
+        try {
+            RocksDBKLineStore store = new RocksDBKLineStore(manager, KLineValueFormat.BINARY,
+                    columnFamilies, WriteDurability.WAL);
+            store.afterPropertiesSet();
+
+            assertSeries(store, btc1m);
+            assertSeries(store, btc1h);
+            assertSeries(store, eth1m);
+            long from = btc1m.get(10).getOpenTime();
+            long to = btc1m.get(19).getOpenTime();
+            assertEquals(btc1m.subList(10, 20), store.query(BINANCE, BTC, KLineInterval.M1, from, to, 100));
+            assertNull(store.getLatest(BINANCE, ETH, KLineInterval.M1));
+            assertEquals(0, countDefaultColumnFamily(manager));
+            store.destroy();
+        } finally {
+            manager.destroy();
+        }
+
+        // 再次启动无需迁移，数据保持不变
+        manager = open(columnFamilies);
+        try {
+            RocksDBKLineStore store = new RocksDBKLineStore(manager, KLineValueFormat.BINARY,
+                    columnFamilies, WriteDurability.WAL);
+            store.afterPropertiesSet();
+
+            assertSeries(store, btc1m);
+            assertSeries(store, btc1h);
+            assertSeries(store, eth1m);
+            assertEquals(0, countDefaultColumnFamily(manager));
+            store.destroy();
+        } finally {
+            manager.destroy();
+        }
+    }
+
+    /**
+     * 按早期版本的方式写入：默认 Column Family，Key 为 {exchange}:{symbol}:{interval}:{openTime(固定19位)}，Value 为 JSON
+     */
+    @SafeVarargs
+    private void seedBaseline(List<KLine>... series) throws Exception {
+        RocksDBManager manager = new RocksDBManager(dataDir.toString());
+        manager.afterPropertiesSet();
+        try {
+            for (List<KLine> klines : series) {
+                for (KLine kline : klines) {
+                    String key = String.format("%s:%s:%s:%019d", kline.getExchange(), kline.getSymbol(),
+                            kline.getInterval().getCode(), kline.getOpenTime());
+                    manager.put(manager.defaultColumnFamily(), key.getBytes(StandardCharsets.UTF_8),
+                            JSON.toJSONBytes(kline));
+                }
+            }
+        } finally {
+            manager.destroy();
+        }
+    }
+
+    private RocksDBManager open(Map<KLineInterval, ColumnFamilyTuning> columnFamilies) throws Exception {
+        RocksDBManager manager = new RocksDBManager(dataDir.toString(), RocksDBKLineStore.SERIES_ID_LENGTH,
+                new RocksDBTuning(), KLineColumnFamilies.byName(columnFamilies));
+        manager.afterPropertiesSet();
+        return manager;
+    }
+
+    private static void assertSeries(RocksDBKLineStore store, List<KLine> expected) {
+        KLine first = expected.get(0);
+        assertEquals(expected, store.query(first.getExchange(), first.getSymbol(), first.getInterval(),
+                null, null, expected.size() + 10));
+        assertEquals(expected.get(expected.size() - 1),
+                store.getLatest(first.getExchange(), first.getSymbol(), first.getInterval()));
+    }
+
+    private static int countDefaultColumnFamily(RocksDBManager manager) {
+        int[] count = {0};
+        manager.forEach(manager.defaultColumnFamily(), null, (key, value) -> count[0]++);
+        return count[0];
+    }
+
+    private static List<KLine> series(String exchange, String symbol, KLineInterval interval, int count) {
+        List<KLine> klines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long openTime = BASE_TIME + i * interval.getMillis();
+            BigDecimal open = new BigDecimal("37000.10").add(BigDecimal.valueOf(i));
+            klines.add(KLine.builder()
+                    .exchange(exchange)
+                    .symbol(symbol)
+                    .interval(interval)
+                    .openTime(openTime)
+                    .closeTime(openTime + interval.getMillis() - 1)
+                    .open(open)
+                    .high(open.add(new BigDecimal("12.50")))
+                    .low(open.subtract(new BigDecimal("3.25")))
+                    .close(open.add(new BigDecimal("0.01")))
+                    .volume(new BigDecimal("1.23456789"))
+                    .quoteVolume(new BigDecimal("45678.12345678"))
+                    .trades(100 + i)
+                    .closed(i < count - 1)
+                    .build());
+        }
+        return klines;
+    }
+}
@@ -0,0 +1,159 @@
+package com.vertex.service.quote.store.codec;
+
+import com.alibaba.fastjson2.JSON;
+import com.vertex.model.entity.quote.KLine;
+import com.vertex.model.entity.quote.KLineInterval;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryKLineValueCodecTest {
+
+    private static final String EXCHANGE = "binance";
+    private static final String SYMBOL = "BTC-USDT";
+    private static final KLineInterval INTERVAL = KLineInterval.M1;
+
+    private final BinaryKLineValueCodec codec = new BinaryKLineValueCodec();
+
+    @Test
+    void roundTripTypicalCandle() {
+        KLine kline = kline(1700000000000L, 1700000059999L,
+                "37000.12000000", "37100.00000000", "36950.50000000", "37050.01000000",
+                "12.34567800", "457123.45678901", 1234, true);
+
+        byte[] value = codec.encode(kline);
+
+        assertTrue(BinaryKLineValueCodec.isBinary(value));
+        assertEquals(kline, decode(value));
+    }
+
+    @Test
+    void roundTripNullFields() {
+        KLine kline = kline(1700000000000L, null, null, null, null, null, null, null, null, null);
+
+        assertEquals(kline, decode(codec.encode(kline)));
+    }
+
+    @Test
+    void roundTripKeepsClosedTriState() {
+        for (Boolean closed : new Boolean[]{Boolean.TRUE, Boolean.FALSE, null}) {
+            KLine kline = kline(0L, 59999L, "1", "1", "1", "1", "0", "0", 0, closed);
+
+            assertEquals(closed, decode(codec.encode(kline)).getClosed());
+        }
+    }
+
+    @Test
+    void roundTripKeepsScale() {
+        KLine kline = kline(0L, 0L,
+                // 负 scale
+                "1E+5", "-7E+300",
+                // 较大的正 scale
+                "0.000000000000000000000000000001", "-123.456789012345678901234567890",
+                // 末尾 0 不能被去掉
+                "1.10000000", "0",
+                0, false);
+        KLine decoded = decode(codec.encode(kline));
+
+        assertEquals(kline, decoded);
+        assertEquals(-5, decoded.getOpen().scale());
+        assertEquals(30, decoded.getLow().scale());
+        assertEquals(8, decoded.getVolume().scale());
+
+        // scale 取值范围的两端
+        kline.setVolume(BigDecimal.valueOf(-1, Integer.MAX_VALUE));
+        kline.setQuoteVolume(BigDecimal.valueOf(1, Integer.MIN_VALUE));
+        assertEquals(kline, decode(codec.encode(kline)));
+    }
+
+    @Test
+    void roundTripValuesNearLongBoundary() {
+        BigInteger max = BigInteger.valueOf(Long.MAX_VALUE);
+        BigInteger min = BigInteger.valueOf(Long.MIN_VALUE);
+        KLine kline = kline(Long.MIN_VALUE, Long.MAX_VALUE, null, null, null, null, null, null,
+                Integer.MIN_VALUE, true);
+        // 尾数恰好在 long 范围内
+        kline.setOpen(new BigDecimal(max, 8));
+        kline.setHigh(new BigDecimal(min, 8));
+        // 尾数刚超出 long 范围
+        kline.setLow(new BigDecimal(max.add(BigInteger.ONE), 8));
+        kline.setClose(new BigDecimal(min.subtract(BigInteger.ONE), 8));
+        kline.setVolume(new BigDecimal(max.multiply(max), 18));
+        kline.setQuoteVolume(new BigDecimal(min.multiply(max), 0));
+
+        assertEquals(kline, decode(codec.encode(kline)));
+
+        kline.setOpenTime(Long.MAX_VALUE);
+        kline.setCloseTime(Long.MIN_VALUE);
+        kline.setTrades(Integer.MAX_VALUE);
+        assertEquals(kline, decode(codec.encode(kline)));
+    }
+
+    @Test
+    void decodeRejectsNonBinaryValue() {
+        byte[] json = "{}".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(IllegalArgumentException.class, () -> decode(json));
+        assertThrows(IllegalArgumentException.class, () -> decode(new byte[0]));
+    }
+
+    @Test
+    void detectFallsBackToJsonForLegacyValues() {
+        KLine kline = kline(1700000000000L, 1700000059999L,
+                "37000.12", "37100", "36950.5", "37050.01", "12.345678", "457123.45678901", 1234, false);
+        kline.setExchange(EXCHANGE);
+        kline.setSymbol(SYMBOL);
+        kline.setInterval(INTERVAL);
+        byte[] legacy = JSON.toJSONBytes(kline);
+
+        assertEquals(KLineValueFormat.JSON, KLineValueFormat.detect(legacy));
+        assertEquals(KLineValueFormat.JSON, KLineValueFormat.detect(new byte[0]));
+        assertEquals(KLineValueFormat.JSON, KLineValueFormat.detect(null));
+        assertEquals(kline, KLineValueFormat.detect(legacy).codec().decode(EXCHANGE, SYMBOL, INTERVAL, legacy));
+
+        byte[] binary = KLineValueFormat.BINARY.codec().encode(kline);
+        assertEquals(KLineValueFormat.BINARY, KLineValueFormat.detect(binary));
+        assertEquals(kline, KLineValueFormat.detect(binary).codec().decode(EXCHANGE, SYMBOL, INTERVAL, binary));
+    }
+
+    @Test
+    void encodingIsDeterministic() {
+        KLine kline = kline(1700000000000L, 1700000059999L, "1.5", "2", "1", "1.75", "10", "15", 3, true);
+
+        assertArrayEquals(codec.encode(kline), codec.encode(kline));
+    }
+
+    private KLine decode(byte[] value) {
+        return codec.decode(EXCHANGE, SYMBOL, INTERVAL, value);
+    }
+
+    private static KLine kline(Long openTime, Long closeTime, String open, String high, String low, String close,
+                               String volume, String quoteVolume, Integer trades, Boolean closed) {
+        return KLine.builder()
+                .exchange(EXCHANGE)
+                .symbol(SYMBOL)
+                .interval(INTERVAL)
+                .openTime(openTime)
+                .closeTime(closeTime)
+                .open(decimal(open))
+                .high(decimal(high))
+                .low(decimal(low))
+                .close(decimal(close))
+                .volume(decimal(volume))
+                .quoteVolume(decimal(quoteVolume))
+                .trades(trades)
+                .closed(closed)
+                .build();
+    }
+
+    private static BigDecimal decimal(String value) {
+        return value == null ? null : new BigDecimal(value);
+    }
+}